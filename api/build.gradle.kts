@@ -4,10 +4,12 @@ import kotlin.io.encoding.Base64
 
 plugins {
     alias(libs.plugins.convention.bukkit)
+    `java-test-fixtures`
     id("com.vanniktech.maven.publish") version "0.35.0"
     signing
 }
 
+val minecraft = property("minecraft_version").toString()
 val artifactBaseId = rootProject.name.lowercase()
 val artifactVersion = project.version.toString().substringBeforeLast('-')
 
@@ -35,6 +37,36 @@ dependencies {
 
     testCompileOnly(libs.lombok)
     testAnnotationProcessor(libs.lombok)
+
+    testFixturesImplementation("io.papermc.paper:paper-api:$minecraft-R0.1-SNAPSHOT")
+    testFixturesImplementation(libs.bundles.library)
+}
+
+//Stubbed server and bundled models shared by tests and benchmarks
+sourceSets.testFixtures {
+    resources {
+        srcDir(project(":core").file("src/main/resources"))
+        include("*.bbmodel", "config.yml")
+    }
+}
+
+//Test fixtures are not a part of the published api
+(components["java"] as AdhocComponentWithVariants).run {
+    withVariantsFromConfiguration(configurations["testFixturesApiElements"]) { skip() }
+    withVariantsFromConfiguration(configurations["testFixturesRuntimeElements"]) { skip() }
+}
+
+//VectorBoneTransformKernel uses the incubating Vector API. It is only loaded if the module is enabled at runtime.
+tasks.compileJava {
+    options.compilerArgs.addAll(listOf("--add-modules=jdk.incubator.vector", "-Xlint:-incubating"))
+}
+
+tasks.javadoc {
+    (options as StandardJavadocDocletOptions).addStringOption("-add-modules", "jdk.incubator.vector")
+}
+
+tasks.test {
+    jvmArgs("--add-modules=jdk.incubator.vector")
 }
 
 mavenPublishing {
@@ -8,8 +8,11 @@ package kr.toxicity.model.api;
 
 import kr.toxicity.model.api.config.DebugConfig;
 import kr.toxicity.model.api.config.IndicatorConfig;
+import kr.toxicity.model.api.config.LodConfig;
 import kr.toxicity.model.api.config.ModuleConfig;
 import kr.toxicity.model.api.config.PackConfig;
+import kr.toxicity.model.api.config.SchedulerConfig;
+import kr.toxicity.model.api.config.TransformThresholdConfig;
 import kr.toxicity.model.api.mount.MountController;
 import org.bukkit.Material;
 import org.jetbrains.annotations.NotNull;
@@ -43,6 +46,25 @@ public interface BetterModelConfig {
      */
     @NotNull PackConfig pack();
 
+    /**
+     * Gets tick-rate level of detail config
+     * @return level of detail config
+     */
+    @NotNull LodConfig lod();
+
+    /**
+     * Gets per-viewer level of detail config.
+     * Viewers farther than a level receive transformation updates only every divisor frames.
+     * @return per-viewer level of detail config
+     */
+    @NotNull LodConfig viewerLod();
+
+    /**
+     * Gets tracker scheduler config
+     * @return scheduler config
+     */
+    @NotNull SchedulerConfig scheduler();
+
     /**
      * Checks metrics is enabled
      * @return enabled
@@ -164,6 +186,49 @@ public interface BetterModelConfig {
      */
     boolean enableStrictLoading();
 
+    /**
+     * Gets whether bone transforms are computed by a linear pass over packed arrays
+     * @return linear bone transform
+     */
+    boolean linearBoneTransform();
+
+    /**
+     * Gets whether the linear bone transform composes each level of bones by a batched kernel.
+     * The kernel uses the Vector API if the jdk.incubator.vector module is enabled.
+     * @return vector bone transform
+     */
+    boolean vectorBoneTransform();
+
+    /**
+     * Gets the memory limit of baked bone transforms shared by trackers of the same model
+     * @return limit in megabytes, or 0 if disabled
+     */
+    int bakedTransformMemory();
+
+    /**
+     * Gets the maximum number of tinted display items shared by every tracker
+     * @return cache size, or 0 if disabled
+     */
+    int tintedItemCacheSize();
+
+    /**
+     * Gets whether packets broadcast to multiple players are encoded only once and shared between their connections
+     * @return shared packet encoding
+     */
+    boolean sharedPacketEncoding();
+
+    /**
+     * Gets display transformation threshold config
+     * @return transformation threshold config
+     */
+    @NotNull TransformThresholdConfig transformThreshold();
+
+    /**
+     * Gets whether display transformations sent to a player with an unwritable channel are coalesced until it becomes writable again
+     * @return packet backpressure
+     */
+    boolean packetBackpressure();
+
     /**
      * Pack type
      */
@@ -11,6 +11,7 @@ import kr.toxicity.model.api.manager.*;
 import kr.toxicity.model.api.nms.NMS;
 import kr.toxicity.model.api.pack.PackResult;
 import kr.toxicity.model.api.pack.PackZipper;
+import kr.toxicity.model.api.profiler.ModelProfiler;
 import kr.toxicity.model.api.scheduler.ModelScheduler;
 import kr.toxicity.model.api.version.MinecraftVersion;
 import org.bukkit.command.CommandSender;
@@ -152,6 +153,14 @@ public interface BetterModelPlugin extends Plugin {
      */
     @NotNull ModelScheduler scheduler();
 
+    /**
+     * Returns the profiler of tracker frames.
+     *
+     * @return the profiler
+     * @since 1.15.2
+     */
+    @NotNull ModelProfiler profiler();
+
     /**
      * Registers a handler to be executed when a reload starts.
      *
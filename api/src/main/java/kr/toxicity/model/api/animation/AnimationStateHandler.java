@@ -15,8 +15,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.SequencedMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BiConsumer;
@@ -39,8 +41,10 @@ public final class AnimationStateHandler<T extends Timed> {
 
     @Getter
     private int delay;
+    private int carryLimit;
     private volatile TreeIterator currentIterator = null;
-    private volatile KeyframeData beforeKeyframe = null, afterKeyframe = null;
+    private TreeIterator lastIterator = null;
+    private volatile KeyframeData<T> beforeKeyframe = null, afterKeyframe = null;
 
     /**
      * Checks this keyframe has been finished
@@ -89,12 +93,34 @@ public final class AnimationStateHandler<T extends Timed> {
      * @return keyframe has been shifted or not
      */
     public boolean tick(@NotNull Runnable ifEmpty) {
-        delay--;
+        return tick(1, ifEmpty);
+    }
+
+    /**
+     * Ticks this state handler by multiple frames at once.
+     * <p>
+     * A step longer than the current keyframe crosses as many keyframes as it covers,
+     * and the remaining frames are carried to the next keyframe, so ticking once by N frames ends at the same keyframe and progress
+     * as ticking N times by one frame.
+     * </p>
+     * @param step elapsed frames since the last tick
+     * @param ifEmpty callback if animator is empty
+     * @return keyframe has been shifted or not
+     */
+    public boolean tick(int step, @NotNull Runnable ifEmpty) {
+        delay -= step;
         if (animators.isEmpty()) {
             ifEmpty.run();
             return false;
         }
-        return shouldUpdateAnimation() && updateAnimation();
+        if (!shouldUpdateAnimation(step)) return false;
+        carryLimit = step;
+        var updated = updateAnimation();
+        //Zero-length keyframes are left to the next tick, so a looping animation of them cannot spin here
+        while (updated && afterKeyframe != null && keyframeFinished() && Math.round(frame()) > 0) {
+            if (!updateAnimation()) break;
+        }
+        return updated;
     }
 
     /**
@@ -106,12 +132,38 @@ public final class AnimationStateHandler<T extends Timed> {
         return frame == 0 ? 0 : Math.clamp((float) delay / frame, 0F, 1F);
     }
 
-    private boolean shouldUpdateAnimation() {
-        return forceUpdateAnimation.compareAndSet(true, false) || (afterKeyframe != null && keyframeFinished()) || delay % Tracker.MINECRAFT_TICK_MULTIPLIER == 0;
+    /**
+     * Gets the number of frames this handler can skip without missing any keyframe change
+     * @return idle frames
+     */
+    public int idleFrames() {
+        if (forceUpdateAnimation.get()) return 0;
+        synchronized (animators) {
+            if (animators.isEmpty()) return Integer.MAX_VALUE;
+            var remain = Math.floorMod(delay, Tracker.MINECRAFT_TICK_MULTIPLIER);
+            var nextMinecraftTick = remain == 0 ? Tracker.MINECRAFT_TICK_MULTIPLIER : remain;
+            if (afterKeyframe == null) return nextMinecraftTick;
+            var idle = Math.max(delay, 0);
+            for (TreeIterator iterator : animators.values()) {
+                if (iterator.modifier.predicate() != null) return Math.min(idle, nextMinecraftTick);
+            }
+            return idle;
+        }
+    }
+
+    private boolean shouldUpdateAnimation(int step) {
+        return forceUpdateAnimation.compareAndSet(true, false) || (afterKeyframe != null && keyframeFinished()) || passedMinecraftTick(step);
+    }
+
+    private boolean passedMinecraftTick(int step) {
+        var remain = Math.floorMod(delay, Tracker.MINECRAFT_TICK_MULTIPLIER);
+        return remain == 0 || remain + step > Tracker.MINECRAFT_TICK_MULTIPLIER;
     }
 
     private boolean updateAnimation() {
         synchronized (animators) {
+            var current = currentIterator;
+            if (current != null && current == lastIterator && !keyframeFinished() && current.getAsBoolean()) return false;
             var iterator = reversedView.iterator();
             while (iterator.hasNext()) {
                 var next = iterator.next();
@@ -143,29 +195,31 @@ public final class AnimationStateHandler<T extends Timed> {
         if (!next.hasNext()) {
             next.eventHandler.animationRemove();
             iterator.remove();
+            updateLastIterator();
             return false;
         } else {
             return true;
         }
     }
 
-    private boolean setAfterKeyframe(@Nullable KeyframeData next) {
+    private boolean setAfterKeyframe(@Nullable KeyframeData<T> next) {
         if (equals(afterKeyframe, next)) return false;
         setConsumer.accept(
             value(beforeKeyframe = afterKeyframe),
             value(afterKeyframe = next)
         );
-        delay = Math.round(frame());
+        //Only the overshoot of this tick is carried, an interrupted or held keyframe starts over
+        delay = Math.max(Math.min(delay, 0), -carryLimit) + Math.round(frame());
         return true;
     }
 
-    private boolean equals(@Nullable KeyframeData from, @Nullable KeyframeData to) {
+    private boolean equals(@Nullable KeyframeData<T> from, @Nullable KeyframeData<T> to) {
         if (from == null && to == null) return true;
         if (from == null || to == null) return false;
         return from.value == to.value && from.realTime == to.realTime;
     }
 
-    private @Nullable T value(@Nullable KeyframeData data) {
+    private @Nullable T value(@Nullable KeyframeData<T> data) {
         return data == null ? null : data.value;
     }
 
@@ -179,6 +233,7 @@ public final class AnimationStateHandler<T extends Timed> {
     public void addAnimation(@NotNull String name, @NotNull AnimationIterator<T> iterator, @NotNull AnimationModifier modifier, @NotNull AnimationEventHandler eventHandler) {
         synchronized (animators) {
             animators.putLast(name, new TreeIterator(name, iterator, modifier, eventHandler));
+            updateLastIterator();
         }
         forceUpdateAnimation.set(true);
     }
@@ -194,6 +249,7 @@ public final class AnimationStateHandler<T extends Timed> {
             animators.computeIfPresent(name, (k, v) -> new TreeIterator(k, iterator, v.modifier.toBuilder()
                 .mergeNotDefault(modifier)
                 .build(), v.eventHandler));
+            updateLastIterator();
         }
         forceUpdateAnimation.set(true);
     }
@@ -206,6 +262,7 @@ public final class AnimationStateHandler<T extends Timed> {
     public boolean stopAnimation(@NotNull String name) {
         synchronized (animators) {
             if (animators.remove(name) != null) {
+                updateLastIterator();
                 forceUpdateAnimation.set(true);
                 return true;
             }
@@ -213,12 +270,17 @@ public final class AnimationStateHandler<T extends Timed> {
         return false;
     }
 
+    private void updateLastIterator() {
+        lastIterator = animators.isEmpty() ? null : animators.lastEntry().getValue();
+    }
+
     /**
      * Gets ticking frame of current keyframe
      * @return ticking frame
      */
     public float frame() {
-        return afterKeyframe != null ? 20 * Tracker.MINECRAFT_TICK_MULTIPLIER * (afterKeyframe.realTime + MathUtil.FRAME_EPSILON) : 0F;
+        var after = afterKeyframe;
+        return after != null ? 20 * Tracker.MINECRAFT_TICK_MULTIPLIER * (after.realTime + MathUtil.FRAME_EPSILON) : 0F;
     }
 
     private class TreeIterator implements BooleanSupplier {
@@ -228,6 +290,7 @@ public final class AnimationStateHandler<T extends Timed> {
         private final AnimationEventHandler eventHandler;
 
         private final T previous;
+        private final Map<T, KeyframeData<T>> keyframes = new IdentityHashMap<>();
 
         private boolean started = false;
         private boolean ended = false;
@@ -238,7 +301,8 @@ public final class AnimationStateHandler<T extends Timed> {
             this.modifier = modifier;
             this.eventHandler = eventHandler;
 
-            previous = afterKeyframe != null ? afterKeyframe.value : initialValue;
+            var after = afterKeyframe;
+            previous = after != null ? after.value : initialValue;
         }
 
         @Override
@@ -250,17 +314,24 @@ public final class AnimationStateHandler<T extends Timed> {
             return iterator.hasNext() || (modifier.end() > 0 && !ended);
         }
 
-        public @NotNull KeyframeData next() {
+        public @NotNull KeyframeData<T> next() {
             if (!started) {
                 started = true;
-                return new KeyframeData(iterator.next(), (float) modifier.start() / 20);
+                return keyframe(iterator.next(), (float) modifier.start() / 20);
             }
             if (!iterator.hasNext()) {
                 ended = true;
-                return new KeyframeData(previous, (float) modifier.end() / 20);
+                return keyframe(previous, (float) modifier.end() / 20);
             }
             var nxt = iterator.next();
-            return new KeyframeData(nxt, nxt.time() / modifier.speedValue());
+            return keyframe(nxt, nxt.time() / modifier.speedValue());
+        }
+
+        //Keyframes are immutable, so they are published safely and reused as long as the speed is unchanged
+        private @NotNull KeyframeData<T> keyframe(@NotNull T value, float realTime) {
+            var data = keyframes.get(value);
+            if (data == null || data.realTime != realTime) keyframes.put(value, data = new KeyframeData<>(value, realTime));
+            return data;
         }
 
         public void clear() {
@@ -269,9 +340,6 @@ public final class AnimationStateHandler<T extends Timed> {
         }
     }
 
-    @RequiredArgsConstructor
-    private class KeyframeData {
-        private final T value;
-        private final float realTime;
+    private record KeyframeData<T>(@NotNull T value, float realTime) {
     }
 }
@@ -0,0 +1,89 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.bone;
+
+import kr.toxicity.model.api.BetterModel;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A model-space bone transform shared by every tracker playing the same keyframes.
+ * <p>
+ * A bone whose parent chain has neither modifiers nor IK always ends up with the same transform
+ * for the same keyframes of itself and its parents. Such a transform is computed once,
+ * and later frames of any tracker of the same model only look it up.
+ * </p>
+ * <p>
+ * The total size of baked transforms is limited by {@link kr.toxicity.model.api.BetterModelConfig#bakedTransformMemory()}.
+ * Beyond the limit, transforms are computed live.
+ * </p>
+ */
+@ApiStatus.Internal
+public final class BakedTransform {
+
+    /**
+     * The parent of every root bone
+     */
+    public static final BakedTransform ROOT = new BakedTransform(new BoneMovement());
+
+    //A movement, its map entry and the map of its children
+    private static final long ENTRY_BYTES = 256;
+    private static final AtomicLong USED_BYTES = new AtomicLong();
+
+    private final BoneMovement movement;
+
+    /**
+     * Creates baked transform
+     * @param movement movement to copy
+     */
+    public BakedTransform(@NotNull BoneMovement movement) {
+        this.movement = new BoneMovement().set(movement);
+    }
+
+    /**
+     * Gets the baked movement
+     * @return movement, which must not be modified
+     */
+    public @NotNull BoneMovement movement() {
+        return movement;
+    }
+
+    /**
+     * Reserves memory of a new baked transform
+     * @return whether it fits in the memory limit
+     */
+    public static boolean reserve() {
+        var limit = BetterModel.config().bakedTransformMemory() * 1024L * 1024L;
+        if (USED_BYTES.addAndGet(ENTRY_BYTES) <= limit) return true;
+        USED_BYTES.addAndGet(-ENTRY_BYTES);
+        return false;
+    }
+
+    /**
+     * Releases memory of a baked transform which was not stored
+     */
+    public static void release() {
+        USED_BYTES.addAndGet(-ENTRY_BYTES);
+    }
+
+    /**
+     * Resets memory usage. It should be called when every model is reloaded.
+     */
+    public static void reset() {
+        USED_BYTES.set(0);
+    }
+
+    /**
+     * Gets the estimated memory usage of baked transforms
+     * @return bytes
+     */
+    public static long usedBytes() {
+        return USED_BYTES.get();
+    }
+}
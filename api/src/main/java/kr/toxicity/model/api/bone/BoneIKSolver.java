@@ -15,9 +15,12 @@ import org.jetbrains.annotations.Nullable;
 import org.joml.Quaternionf;
 import org.joml.Vector3f;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
 /**
@@ -31,6 +34,10 @@ public final class BoneIKSolver {
 
     private final Map<UUID, RenderedBone> boneMap;
     private final Map<RenderedBone, IKChain> locators = new LinkedHashMap<>();
+    private IKChain[] chains = new IKChain[0];
+    private int lastSolved, lastSkipped, lastIterations;
+    private final List<RenderedBone> lastChanged = new ArrayList<>();
+    private final List<RenderedBone> lastChangedView = Collections.unmodifiableList(lastChanged);
 
     /**
      * Adds some external locator to this solver
@@ -46,7 +53,9 @@ public final class BoneIKSolver {
                 .filter(bone -> !bone.flattenBones().contains(locator) && bone.flattenBones().contains(target))
                 .toList();
         if (list.size() < 2) return;
-        locators.put(locator, new IKChain(source, list, new IKCache(list.size())));
+        list.forEach(RenderedBone::liveTransform);
+        locators.put(locator, new IKChain(locator, source, list, new IKCache(list.size())));
+        chains = locators.values().toArray(IKChain[]::new);
     }
 
     /**
@@ -61,73 +70,223 @@ public final class BoneIKSolver {
      * @param uuid player uuid
      */
     public void solve(@Nullable UUID uuid) {
-        for (var entry : locators.entrySet()) {
-            var locator = entry.getKey();
-            var value = entry.getValue();
+        var solved = 0;
+        var skipped = 0;
+        var iterations = 0;
+        lastChanged.clear();
+        for (IKChain value : chains) {
+            var locator = value.locator;
             var root = value.bones.getFirst();
-            fabrik(
-                    value.bones.stream()
-                            .map(bone -> bone.state(uuid).after())
-                            .toList(),
-                    value.source.state(uuid).after().rotation().invert(value.cache.rotation),
-                    value.cache.buffer,
-                    locator.state(uuid).after().position().get(value.cache.destination)
-                            .add(locator.root.group.getPosition())
-                            .sub(root.state(uuid).after().position())
-                            .sub(root.root.group.getPosition())
-            );
+            var cache = value.cache;
+            var movements = cache.movements;
+            for (int i = 0; i < movements.length; i++) {
+                movements[i] = value.bones.get(i).state(uuid).after();
+            }
+            var parentRot = value.source.state(uuid).after().rotation().invert(cache.rotation);
+            var target = locator.state(uuid).after().position().get(cache.destination)
+                    .add(locator.root.group.getPosition())
+                    .sub(root.state(uuid).after().position())
+                    .sub(root.root.group.getPosition());
+            var warm = cache.solved && Objects.equals(cache.owner, uuid);
+            //Bones which are not recomputed since the last solve still hold the solved pose.
+            var untouched = warm && cache.matchesSolved(movements);
+            if (warm && (untouched || cache.matchesRest(movements)) && cache.matchesInput(parentRot, target)) {
+                if (!untouched) {
+                    cache.restoreSolved(movements);
+                    changed(value);
+                }
+                skipped++;
+                continue;
+            }
+            if (untouched) cache.restoreRest(movements);
+            cache.saveRest(movements, parentRot, target);
+            iterations += fabrik(movements, parentRot, cache, target, warm);
+            cache.saveSolved(movements, uuid);
+            changed(value);
+            solved++;
         }
+        lastSolved = solved;
+        lastSkipped = skipped;
+        lastIterations = iterations;
     }
 
-    private record IKChain(@NotNull RenderedBone source, @NotNull List<RenderedBone> bones, @NotNull IKCache cache) {}
+    private void changed(@NotNull IKChain chain) {
+        var bones = chain.bones;
+        for (int i = 0; i < bones.size(); i++) {
+            lastChanged.add(bones.get(i));
+        }
+    }
+
+    /**
+     * Gets the bones whose transform has been rewritten by the last solve.
+     * It contains every bone of the chains solved or restored to their solved pose, and is reused by the next solve.
+     * @return changed bones
+     */
+    public @NotNull List<RenderedBone> lastChanged() {
+        return lastChangedView;
+    }
+
+    /**
+     * Gets the number of chains solved by the last solve
+     * @return solved chains
+     */
+    public int lastSolved() {
+        return lastSolved;
+    }
+
+    /**
+     * Gets the number of chains skipped by the last solve because their root and target didn't move
+     * @return skipped chains
+     */
+    public int lastSkipped() {
+        return lastSkipped;
+    }
+
+    /**
+     * Gets the total FABRIK iterations of the last solve
+     * @return iterations
+     */
+    public int lastIterations() {
+        return lastIterations;
+    }
+
+    private record IKChain(@NotNull RenderedBone locator, @NotNull RenderedBone source, @NotNull List<RenderedBone> bones, @NotNull IKCache cache) {}
+
+    private static final class IKCache {
+        private final float[] buffer;
+        private final BoneMovement[] movements;
+        private final Vector3f destination = new Vector3f();
+        private final Vector3f vector = new Vector3f();
+        private final Quaternionf rotation = new Quaternionf();
+        private final Quaternionf rotationCache = new Quaternionf();
+
+        //Last solve
+        private final Vector3f[] restPositions, solvedPositions;
+        private final Quaternionf[] restRotations, solvedRotations;
+        private final Vector3f lastTarget = new Vector3f();
+        private final Quaternionf lastParentRotation = new Quaternionf();
+        private boolean solved;
+        private @Nullable UUID owner;
 
-    private record IKCache(float[] buffer, @NotNull Vector3f destination, @NotNull Quaternionf rotation) {
         private IKCache(int length) {
-            this(new float[length - 1], new Vector3f(), new Quaternionf());
+            buffer = new float[length - 1];
+            movements = new BoneMovement[length];
+            restPositions = new Vector3f[length];
+            solvedPositions = new Vector3f[length];
+            restRotations = new Quaternionf[length];
+            solvedRotations = new Quaternionf[length];
+            for (int i = 0; i < length; i++) {
+                restPositions[i] = new Vector3f();
+                solvedPositions[i] = new Vector3f();
+                restRotations[i] = new Quaternionf();
+                solvedRotations[i] = new Quaternionf();
+            }
+        }
+
+        private boolean matchesSolved(@NotNull BoneMovement[] bones) {
+            for (int i = 0; i < bones.length; i++) {
+                if (!bones[i].position().equals(solvedPositions[i]) || !bones[i].rotation().equals(solvedRotations[i])) return false;
+            }
+            return true;
+        }
+
+        private boolean matchesRest(@NotNull BoneMovement[] bones) {
+            for (int i = 0; i < bones.length; i++) {
+                if (!MathUtil.isSimilar(bones[i].position(), restPositions[i]) || !MathUtil.isSimilar(bones[i].rotation(), restRotations[i])) return false;
+            }
+            return true;
+        }
+
+        private boolean matchesInput(@NotNull Quaternionf parentRot, @NotNull Vector3f target) {
+            return MathUtil.isSimilar(target, lastTarget) && MathUtil.isSimilar(parentRot, lastParentRotation);
+        }
+
+        private void saveRest(@NotNull BoneMovement[] bones, @NotNull Quaternionf parentRot, @NotNull Vector3f target) {
+            for (int i = 0; i < bones.length; i++) {
+                restPositions[i].set(bones[i].position());
+                restRotations[i].set(bones[i].rotation());
+            }
+            lastParentRotation.set(parentRot);
+            lastTarget.set(target);
+        }
+
+        private void restoreRest(@NotNull BoneMovement[] bones) {
+            for (int i = 0; i < bones.length; i++) {
+                bones[i].position().set(restPositions[i]);
+                bones[i].rotation().set(restRotations[i]);
+            }
+        }
+
+        private void saveSolved(@NotNull BoneMovement[] bones, @Nullable UUID uuid) {
+            for (int i = 0; i < bones.length; i++) {
+                solvedPositions[i].set(bones[i].position());
+                solvedRotations[i].set(bones[i].rotation());
+            }
+            solved = true;
+            owner = uuid;
+        }
+
+        private void restoreSolved(@NotNull BoneMovement[] bones) {
+            for (int i = 0; i < bones.length; i++) {
+                bones[i].position().set(solvedPositions[i]);
+                bones[i].rotation().set(solvedRotations[i]);
+            }
         }
     }
 
-    private static void fabrik(@NotNull List<BoneMovement> bones, @NotNull Quaternionf parentRot, float[] lengths, @NotNull Vector3f target) {
-        var first = bones.getFirst().position();
-        var last = bones.getLast().position();
+    //Returns the number of iterations run.
+    private static int fabrik(@NotNull BoneMovement[] bones, @NotNull Quaternionf parentRot, @NotNull IKCache cache, @NotNull Vector3f target, boolean warm) {
+        var first = bones[0].position();
+        var last = bones[bones.length - 1].position();
+        var lengths = cache.buffer;
 
-        var vecCache = new Vector3f();
+        var vecCache = cache.vector;
         var rootPos = first.get(vecCache);
 
-        for (int i = 0; i < bones.size() - 1; i++) {
-            var before = bones.get(i);
-            var after = bones.get(i + 1);
+        for (int i = 0; i < bones.length - 1; i++) {
+            var before = bones[i];
+            var after = bones[i + 1];
             lengths[i] = before.position().distance(after.position());
         }
-        for (int iter = 0; iter < MAX_IK_ITERATION; iter++) {
+        //Starts from the last solved pose, moved along with the root.
+        if (warm) {
+            var solved = cache.solvedPositions;
+            for (int i = 1; i < bones.length; i++) {
+                bones[i].position().set(solved[i]).sub(solved[0]).add(rootPos);
+            }
+        }
+        var iter = 0;
+        while (iter < MAX_IK_ITERATION) {
+            // Check
+            if (last.distance(target) < MathUtil.FRAME_EPSILON) break;
+            iter++;
             // Forward
             last.set(target);
-            for (int i = bones.size() - 2; i >= 0; i--) {
-                var current = bones.get(i).position();
-                var next = bones.get(i + 1).position();
+            for (int i = bones.length - 2; i >= 0; i--) {
+                var current = bones[i].position();
+                var next = bones[i + 1].position();
                 var dist = current.distance(next);
                 if (dist < MathUtil.FLOAT_COMPARISON_EPSILON) continue;
                 InterpolationUtil.lerp(next, current, lengths[i] / dist, current);
             }
             // Backward
             first.set(rootPos);
-            for (int i = 0; i < bones.size() - 1; i++) {
-                var current = bones.get(i).position();
-                var next = bones.get(i + 1).position();
+            for (int i = 0; i < bones.length - 1; i++) {
+                var current = bones[i].position();
+                var next = bones[i + 1].position();
                 var dist = current.distance(next);
                 if (dist < MathUtil.FLOAT_COMPARISON_EPSILON) continue;
                 InterpolationUtil.lerp(current, next, lengths[i] / dist, next);
             }
-            // Check
-            if (last.distance(target) < MathUtil.FRAME_EPSILON) break;
         }
-        var rotCache = new Quaternionf();
-        for (int i = 0; i < bones.size() - 1; i++) {
-            var current = bones.get(i);
-            var next = bones.get(i + 1);
+        var rotCache = cache.rotationCache;
+        for (int i = 0; i < bones.length - 1; i++) {
+            var current = bones[i];
+            var next = bones[i + 1];
 
             var dir = next.position().sub(current.position(), vecCache);
             current.rotation().set(MathUtil.fromToRotation(dir.normalize(), rotCache).mul(parentRot).mul(current.rotation()));
         }
+        return iter;
     }
 }
@@ -0,0 +1,148 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.bone;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+/**
+ * Packed inputs and outputs of a {@link BoneTransformKernel} call.
+ * <p>
+ * Each slot is a bone whose parent transform is already known.
+ * Every component has its own array, so a kernel can load the same component of many bones at once.
+ * The local position, scale and rotation are overwritten by the composed transform.
+ * </p>
+ */
+@ApiStatus.Internal
+public final class BoneTransformBatch {
+
+    final int capacity;
+
+    //Parent
+    final float[] parentPositionX, parentPositionY, parentPositionZ;
+    final float[] parentScaleX, parentScaleY, parentScaleZ;
+    final float[] parentRotationX, parentRotationY, parentRotationZ, parentRotationW;
+
+    //Local
+    final float[] positionX, positionY, positionZ;
+    final float[] scaleX, scaleY, scaleZ;
+    final float[] rotationX, rotationY, rotationZ, rotationW;
+
+    //Correction
+    final float[] offsetX, offsetY, offsetZ;
+    final float[] correctionX, correctionY, correctionZ, correctionW;
+    final boolean[] globalRotation;
+
+    /**
+     * Creates batch
+     * @param capacity slot capacity
+     */
+    public BoneTransformBatch(int capacity) {
+        this.capacity = capacity;
+        parentPositionX = new float[capacity];
+        parentPositionY = new float[capacity];
+        parentPositionZ = new float[capacity];
+        parentScaleX = new float[capacity];
+        parentScaleY = new float[capacity];
+        parentScaleZ = new float[capacity];
+        parentRotationX = new float[capacity];
+        parentRotationY = new float[capacity];
+        parentRotationZ = new float[capacity];
+        parentRotationW = new float[capacity];
+        positionX = new float[capacity];
+        positionY = new float[capacity];
+        positionZ = new float[capacity];
+        scaleX = new float[capacity];
+        scaleY = new float[capacity];
+        scaleZ = new float[capacity];
+        rotationX = new float[capacity];
+        rotationY = new float[capacity];
+        rotationZ = new float[capacity];
+        rotationW = new float[capacity];
+        offsetX = new float[capacity];
+        offsetY = new float[capacity];
+        offsetZ = new float[capacity];
+        correctionX = new float[capacity];
+        correctionY = new float[capacity];
+        correctionZ = new float[capacity];
+        correctionW = new float[capacity];
+        globalRotation = new boolean[capacity];
+    }
+
+    /**
+     * Sets the parent transform of the slot
+     * @param slot slot
+     * @param position parent position
+     * @param scale parent scale
+     * @param rotation parent rotation
+     */
+    public void parent(int slot, @NotNull Vector3f position, @NotNull Vector3f scale, @NotNull Quaternionf rotation) {
+        parentPositionX[slot] = position.x;
+        parentPositionY[slot] = position.y;
+        parentPositionZ[slot] = position.z;
+        parentScaleX[slot] = scale.x;
+        parentScaleY[slot] = scale.y;
+        parentScaleZ[slot] = scale.z;
+        parentRotationX[slot] = rotation.x;
+        parentRotationY[slot] = rotation.y;
+        parentRotationZ[slot] = rotation.z;
+        parentRotationW[slot] = rotation.w;
+    }
+
+    /**
+     * Sets the local transform of the slot
+     * @param slot slot
+     * @param position local position
+     * @param scale local scale
+     * @param rotation local rotation
+     */
+    public void local(int slot, @NotNull Vector3f position, @NotNull Vector3f scale, @NotNull Quaternionf rotation) {
+        positionX[slot] = position.x;
+        positionY[slot] = position.y;
+        positionZ[slot] = position.z;
+        scaleX[slot] = scale.x;
+        scaleY[slot] = scale.y;
+        scaleZ[slot] = scale.z;
+        rotationX[slot] = rotation.x;
+        rotationY[slot] = rotation.y;
+        rotationZ[slot] = rotation.z;
+        rotationW[slot] = rotation.w;
+    }
+
+    /**
+     * Sets the correction of the slot
+     * @param slot slot
+     * @param offset offset
+     * @param correction rotation correction
+     * @param global whether the local rotation is a global rotation
+     */
+    public void correction(int slot, @NotNull Vector3f offset, @NotNull Quaternionf correction, boolean global) {
+        offsetX[slot] = offset.x;
+        offsetY[slot] = offset.y;
+        offsetZ[slot] = offset.z;
+        correctionX[slot] = correction.x;
+        correctionY[slot] = correction.y;
+        correctionZ[slot] = correction.z;
+        correctionW[slot] = correction.w;
+        globalRotation[slot] = global;
+    }
+
+    /**
+     * Gets the composed transform of the slot
+     * @param slot slot
+     * @param dest movement to store the transform
+     * @return dest
+     */
+    public @NotNull BoneMovement composed(int slot, @NotNull BoneMovement dest) {
+        dest.position().set(positionX[slot], positionY[slot], positionZ[slot]);
+        dest.scale().set(scaleX[slot], scaleY[slot], scaleZ[slot]);
+        dest.rotation().set(rotationX[slot], rotationY[slot], rotationZ[slot], rotationW[slot]);
+        return dest;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,173 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.bone;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Computes world transforms of every bone in a model by a single linear pass.
+ * <p>
+ * Bones are packed in parent-first order, and each bone is composed with the movement its parent has just computed
+ * instead of recursing through the parent's state.
+ * The result lives only in each bone's state, so {@link RenderedBone} stays the single source of the transform.
+ * Bones outside of the given dirty set keep their last transform and are skipped.
+ * </p>
+ * <p>
+ * In batched mode, bones are packed level by level instead, so every bone in the same level only depends on previous levels.
+ * The parent composition of each level is done by a single {@link BoneTransformKernel} call,
+ * which uses the Vector API if available.
+ * </p>
+ * <p>
+ * This engine is not thread-safe. It should be only called from the thread which ticks the model.
+ * </p>
+ */
+@ApiStatus.Internal
+public final class BoneTransformEngine {
+
+    private final RenderedBone[] bones;
+    private final int[] parents;
+    private final int[] treeIndices;
+    private final int[] levels;
+    private final BoneMovement[] movements;
+
+    //Batch
+    private final BoneTransformKernel kernel;
+    private final BoneTransformBatch batch;
+    private final int[] slots;
+
+    /**
+     * Creates engine
+     * @param roots root bones
+     */
+    public BoneTransformEngine(@NotNull Collection<RenderedBone> roots) {
+        this(roots, false);
+    }
+
+    /**
+     * Creates engine
+     * @param roots root bones
+     * @param batched whether to compose each level of bones by a batched kernel
+     */
+    public BoneTransformEngine(@NotNull Collection<RenderedBone> roots, boolean batched) {
+        var order = new ArrayList<RenderedBone>();
+        var levelList = new ArrayList<Integer>();
+        List<RenderedBone> level = List.copyOf(roots);
+        while (!level.isEmpty()) {
+            levelList.add(order.size());
+            order.addAll(level);
+            level = level.stream()
+                .flatMap(bone -> bone.children.values().stream())
+                .toList();
+        }
+        levelList.add(order.size());
+        bones = order.toArray(RenderedBone[]::new);
+        levels = levelList.stream().mapToInt(Integer::intValue).toArray();
+        var treeOrder = new IdentityHashMap<RenderedBone, Integer>(bones.length);
+        roots.stream()
+            .flatMap(RenderedBone::flatten)
+            .forEach(bone -> treeOrder.put(bone, treeOrder.size()));
+        var indexMap = new IdentityHashMap<RenderedBone, Integer>(bones.length);
+        parents = new int[bones.length];
+        treeIndices = new int[bones.length];
+        for (int i = 0; i < bones.length; i++) {
+            var parent = bones[i].parent;
+            parents[i] = parent != null ? indexMap.get(parent) : -1;
+            treeIndices[i] = treeOrder.get(bones[i]);
+            indexMap.put(bones[i], i);
+        }
+        movements = new BoneMovement[bones.length];
+        var maxLevel = 0;
+        for (int i = 1; i < levels.length; i++) {
+            maxLevel = Math.max(maxLevel, levels[i] - levels[i - 1]);
+        }
+        kernel = batched ? BoneTransformKernel.best() : null;
+        batch = batched ? new BoneTransformBatch(maxLevel) : null;
+        slots = batched ? new int[maxLevel] : null;
+    }
+
+    /**
+     * Updates world transforms of all bones
+     * @param uuid player uuid or null for global state
+     */
+    public void update(@Nullable UUID uuid) {
+        update(uuid, null);
+    }
+
+    /**
+     * Updates world transforms of dirty bones
+     * @param uuid player uuid or null for global state
+     * @param dirty dirty bones by pre-order tree index, or null to update all bones
+     */
+    public void update(@Nullable UUID uuid, @Nullable BitSet dirty) {
+        if (kernel != null) {
+            updateBatched(uuid, dirty);
+            return;
+        }
+        for (int i = 0; i < bones.length; i++) {
+            if (dirty != null && !dirty.get(treeIndices[i])) continue;
+            var state = bones[i].state(uuid);
+            //A bone without per-player state falls back to its global state, which follows the global parent.
+            movements[i] = state.requireUpdate(uuid) ? state.after(parent(uuid, i, dirty)) : state.after();
+        }
+    }
+
+    private void updateBatched(@Nullable UUID uuid, @Nullable BitSet dirty) {
+        for (int l = 0; l < levels.length - 1; l++) {
+            var count = 0;
+            for (int i = levels[l]; i < levels[l + 1]; i++) {
+                if (dirty != null && !dirty.get(treeIndices[i])) continue;
+                var state = bones[i].state(uuid);
+                var update = state.requireUpdate(uuid);
+                if (update && parents[i] >= 0 && state.prepare(batch, count)) {
+                    gather(parent(uuid, i, dirty), count);
+                    slots[count++] = i;
+                } else if (update) {
+                    movements[i] = state.after(parent(uuid, i, dirty));
+                } else movements[i] = state.after();
+            }
+            if (count == 0) continue;
+            kernel.compose(batch, count);
+            for (int s = 0; s < count; s++) {
+                var i = slots[s];
+                movements[i] = bones[i].state(uuid).commit(batch, s);
+            }
+        }
+    }
+
+    //A dirty parent has been composed in this pass, a clean one still holds its last transform.
+    private @Nullable BoneMovement parent(@Nullable UUID uuid, int index, @Nullable BitSet dirty) {
+        var parent = parents[index];
+        if (parent < 0) return null;
+        if (dirty == null || dirty.get(treeIndices[parent])) return movements[parent];
+        return bones[parent].state(uuid).after();
+    }
+
+    private void gather(@NotNull BoneMovement parent, int slot) {
+        var position = parent.position();
+        batch.parentPositionX[slot] = position.x;
+        batch.parentPositionY[slot] = position.y;
+        batch.parentPositionZ[slot] = position.z;
+        var scale = parent.scale();
+        batch.parentScaleX[slot] = scale.x;
+        batch.parentScaleY[slot] = scale.y;
+        batch.parentScaleZ[slot] = scale.z;
+        var rotation = parent.rotation();
+        batch.parentRotationX[slot] = rotation.x;
+        batch.parentRotationY[slot] = rotation.y;
+        batch.parentRotationZ[slot] = rotation.z;
+        batch.parentRotationW[slot] = rotation.w;
+    }
+}
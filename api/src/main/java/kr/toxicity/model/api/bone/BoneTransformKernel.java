@@ -0,0 +1,67 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.bone;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Composes packed bone transforms with their parents.
+ * <p>
+ * For each slot of a {@link BoneTransformBatch}, the local position is rotated by the parent rotation,
+ * scaled by the parent scale and moved by the parent position and the offset.
+ * The local scale is multiplied by the parent scale,
+ * and the local rotation is multiplied by the parent rotation with its correction unless it is a global rotation.
+ * </p>
+ */
+@ApiStatus.Internal
+public interface BoneTransformKernel {
+
+    /**
+     * The module which provides the Vector API
+     */
+    String VECTOR_MODULE = "jdk.incubator.vector";
+
+    /**
+     * Composes the first slots of the batch
+     * @param batch batch
+     * @param count slot count
+     */
+    void compose(@NotNull BoneTransformBatch batch, int count);
+
+    /**
+     * Gets the scalar kernel
+     * @return kernel
+     */
+    static @NotNull BoneTransformKernel scalar() {
+        return ScalarBoneTransformKernel.INSTANCE;
+    }
+
+    /**
+     * Gets the kernel which uses the Vector API.
+     * It requires the Vector API module to be enabled in this JVM.
+     * @return kernel
+     */
+    static @NotNull BoneTransformKernel vector() {
+        return VectorBoneTransformKernel.INSTANCE;
+    }
+
+    /**
+     * Gets the fastest available kernel.
+     * It falls back to the scalar kernel if the Vector API module is not enabled in this JVM.
+     * @return kernel
+     */
+    static @NotNull BoneTransformKernel best() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isPresent()) {
+            try {
+                return VectorBoneTransformKernel.INSTANCE;
+            } catch (LinkageError ignored) {
+            }
+        }
+        return ScalarBoneTransformKernel.INSTANCE;
+    }
+}
@@ -6,10 +6,9 @@
  */
 package kr.toxicity.model.api.bone;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.animation.*;
+import kr.toxicity.model.api.config.TransformThresholdConfig;
 import kr.toxicity.model.api.data.blueprint.BlueprintAnimation;
 import kr.toxicity.model.api.data.blueprint.BlueprintElement;
 import kr.toxicity.model.api.data.blueprint.ModelBoundingBox;
@@ -23,12 +22,11 @@ import kr.toxicity.model.api.util.*;
 import kr.toxicity.model.api.util.function.BonePredicate;
 import kr.toxicity.model.api.util.function.FloatConstantSupplier;
 import kr.toxicity.model.api.util.function.FloatSupplier;
-import kr.toxicity.model.api.util.lock.DuplexLock;
+import kr.toxicity.model.api.util.lock.OptimisticLock;
 import lombok.Getter;
 import lombok.Setter;
 import org.bukkit.Location;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.ItemStack;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -71,7 +69,6 @@ public final class RenderedBone implements BoneEventHandler {
     @NotNull
     final Map<BoneName, RenderedBone> children;
 
-    private final Int2ObjectMap<ItemStack> tintCacheMap = new Int2ObjectOpenHashMap<>();
     @Getter
     private final boolean dummyBone;
     private final Object itemLock = new Object();
@@ -98,6 +95,8 @@ public final class RenderedBone implements BoneEventHandler {
     private final BoneStateHandler globalState;
     private final Map<UUID, BoneStateHandler> perPlayerState = new ConcurrentHashMap<>();
     private volatile ModelRotation rotation = ModelRotation.EMPTY;
+    private volatile int frameDivisor = 1;
+    private volatile TransformThresholdConfig.Threshold transformThreshold = TransformThresholdConfig.Threshold.EXACT;
 
     private Supplier<Vector3f> defaultPosition = FunctionUtil.asSupplier(EMPTY_VECTOR);
     private FloatSupplier scale = FloatConstantSupplier.ONE;
@@ -106,6 +105,7 @@ public final class RenderedBone implements BoneEventHandler {
     private Vector3f lastModifiedPosition = new Vector3f();
     private Function<Quaternionf, Quaternionf> rotationModifier = r -> r;
     private Quaternionf lastModifiedRotation = new Quaternionf();
+    private volatile boolean liveTransform;
 
     /**
      * Creates entity.
@@ -143,6 +143,15 @@ public final class RenderedBone implements BoneEventHandler {
         globalState = new BoneStateHandler(null, uuid -> {});
     }
 
+    /**
+     * Sets the threshold of display transformation updates
+     * @param threshold threshold
+     */
+    @ApiStatus.Internal
+    public void transformThreshold(@NotNull TransformThresholdConfig.Threshold threshold) {
+        transformThreshold = threshold;
+    }
+
     public void locator(@NotNull BoneIKSolver solver) {
         if (getGroup().getParent() instanceof BlueprintElement.NullObject nullObject) {
             var ikTarget = nullObject.ikTarget();
@@ -159,6 +168,16 @@ public final class RenderedBone implements BoneEventHandler {
         return uuid == null ? globalState : perPlayerState.getOrDefault(uuid, globalState);
     }
 
+    /**
+     * Gets the transformation after the last tick of the given player's state
+     * @param uuid player's uuid or null for the global state
+     * @return movement
+     */
+    @ApiStatus.Internal
+    public @NotNull BoneMovement afterTransform(@Nullable UUID uuid) {
+        return state(uuid).after();
+    }
+
     private @NotNull BoneStateHandler getOrCreateState(@Nullable Player player) {
         return getOrCreateState(player != null ? player.getUniqueId() : null);
     }
@@ -237,13 +256,8 @@ public final class RenderedBone implements BoneEventHandler {
      * @return success or not
      */
     public boolean enchant(@NotNull Predicate<RenderedBone> predicate, boolean enchant) {
-        return itemStack(predicate, itemStack.modify(i -> {
-            var meta = i.getItemMeta();
-            if (meta == null) return i;
-            meta.setEnchantmentGlintOverride(enchant);
-            i.setItemMeta(meta);
-            return i;
-        }));
+        var item = itemStack;
+        return itemStack(predicate, TransformedItemStack.of(item.position(), item.offset(), item.scale(), TintedItemCache.glint(item.itemStack(), enchant)));
     }
 
     /**
@@ -280,7 +294,7 @@ public final class RenderedBone implements BoneEventHandler {
                 if (this.itemStack == itemStack) return false;
                 this.itemStack = itemStack;
                 if (display != null) display.invisible(itemStack.isAir());
-                tintCacheMap.clear();
+                markDirty();
                 return applyItem();
             }
         }
@@ -296,6 +310,8 @@ public final class RenderedBone implements BoneEventHandler {
     public synchronized boolean addRotationModifier(@NotNull Predicate<RenderedBone> predicate, @NotNull Function<Quaternionf, Quaternionf> function) {
         if (predicate.test(this)) {
             rotationModifier = rotationModifier.andThen(function);
+            liveTransform = true;
+            markDirty();
             return true;
         }
         return false;
@@ -310,11 +326,40 @@ public final class RenderedBone implements BoneEventHandler {
     public synchronized boolean addPositionModifier(@NotNull Predicate<RenderedBone> predicate, @NotNull Function<Vector3f, Vector3f> function) {
         if (predicate.test(this)) {
             positionModifier = positionModifier.andThen(function);
+            liveTransform = true;
+            markDirty();
             return true;
         }
         return false;
     }
 
+    /**
+     * Computes the transform of this bone and its children live instead of sharing baked transforms.
+     */
+    void liveTransform() {
+        liveTransform = true;
+    }
+
+    /**
+     * Marks every state of this bone to recompute and resend its transform at the next tick.
+     * Children are marked by the pipeline when this bone is ticked.
+     */
+    public void markDirty() {
+        globalState.markDirty();
+        for (BoneStateHandler handler : perPlayerState.values()) {
+            handler.markDirty();
+        }
+    }
+
+    /**
+     * Marks a state of this bone to recompute and resend its transform at the next tick.
+     * @param uuid player uuid or null for global state
+     */
+    public void markDirty(@Nullable UUID uuid) {
+        var handler = uuid == null ? globalState : perPlayerState.get(uuid);
+        if (handler != null) handler.markDirty();
+    }
+
     public boolean rotate(@NotNull ModelRotation rotation, @NotNull PacketBundler bundler) {
         this.rotation = rotation;
         if (display != null) {
@@ -325,12 +370,48 @@ public final class RenderedBone implements BoneEventHandler {
     }
 
     public boolean tick() {
-        return globalState.tick();
+        return tick(1);
+    }
+
+    /**
+     * Ticks this bone by multiple frames at once
+     * @param step elapsed frames since the last tick
+     * @return keyframe has been shifted or not
+     */
+    public boolean tick(int step) {
+        return globalState.tick(step);
+    }
+
+    /**
+     * Gets the number of frames this bone can skip without missing any keyframe change
+     * @return idle frames
+     */
+    public int idleFrames() {
+        return globalState.idleFrames();
+    }
+
+    /**
+     * Sets the frame divisor of this bone's tracker.
+     * Interpolation duration is stretched to cover at least this many frames.
+     * @param frameDivisor frame divisor
+     */
+    public void frameDivisor(int frameDivisor) {
+        this.frameDivisor = Math.max(frameDivisor, 1);
     }
 
     public boolean tick(@NotNull UUID uuid) {
+        return tick(uuid, 1);
+    }
+
+    /**
+     * Ticks the per-player state of this bone by multiple frames at once
+     * @param uuid player uuid
+     * @param step elapsed frames
+     * @return whether this bone's transform has changed
+     */
+    public boolean tick(@NotNull UUID uuid, int step) {
         var get = perPlayerState.get(uuid);
-        return get != null && get.tick();
+        return get != null && get.tick(step);
     }
 
     public void dirtyUpdate(@NotNull PacketBundler bundler) {
@@ -357,6 +438,11 @@ public final class RenderedBone implements BoneEventHandler {
         if (d != null) d.sendTransformation(bundler);
     }
 
+    public void forceTransformation(int duration, @NotNull PacketBundler bundler) {
+        var d = globalState.transformer;
+        if (d != null) d.sendTransformation(duration, bundler);
+    }
+
     public int interpolationDuration() {
         return globalState.interpolationDuration();
     }
@@ -422,7 +508,7 @@ public final class RenderedBone implements BoneEventHandler {
     }
 
     private void applyItem(@NotNull ModelDisplay targetDisplay) {
-        targetDisplay.item(itemStack.isAir() ? itemStack.itemStack() : tintCacheMap.computeIfAbsent(tint, i -> BetterModel.nms().tint(itemStack.itemStack(), i)));
+        targetDisplay.item(itemStack.isAir() ? itemStack.itemStack() : TintedItemCache.tint(itemStack.itemStack(), tint));
     }
 
     public void teleport(@NotNull Location location, @NotNull PacketBundler bundler) {
@@ -565,7 +651,14 @@ public final class RenderedBone implements BoneEventHandler {
         //Flags
         private boolean firstTick = true;
         private boolean skipInterpolation = false;
+        private boolean forceTransform = true;
         private final AtomicBoolean updateAfterTransform = new AtomicBoolean();
+        private final AtomicBoolean dirtyMark = new AtomicBoolean();
+
+        //Baking
+        private volatile BakedTransform baked;
+        private AnimationMovement preparedKeyframe;
+        private BakedTransform preparedParent;
 
         //Caches
         private final BoneMovement movementCache = new BoneMovement();
@@ -573,14 +666,25 @@ public final class RenderedBone implements BoneEventHandler {
         private final Quaternionf rotationCache = new Quaternionf();
 
         //Lock
-        private final DuplexLock lock = new DuplexLock();
+        private final OptimisticLock lock = new OptimisticLock();
+
+        //Callbacks
+        private final Runnable ifEmpty;
 
         private BoneStateHandler(@Nullable UUID uuid, @NotNull Consumer<UUID> consumer) {
             this.uuid = uuid;
             this.consumer = consumer;
+            ifEmpty = uuid != null ? () -> {
+                perPlayerState.remove(uuid);
+                consumer.accept(uuid);
+            } : () -> {};
             state = new AnimationStateHandler<>(
                 AnimationMovement.EMPTY,
-                (b, a) -> skipInterpolation = (a != null && a.skipInterpolation()) || (parent != null && parent.state(uuid).skipInterpolation)
+                (b, a) -> {
+                    skipInterpolation = (a != null && a.skipInterpolation()) || (parent != null && parent.state(uuid).skipInterpolation);
+                    //Every keyframe change is sent, so ignored changes never accumulate past a keyframe
+                    forceTransform = true;
+                }
             );
         }
 
@@ -595,12 +699,29 @@ public final class RenderedBone implements BoneEventHandler {
 
         @NotNull BoneMovement after() {
             if (!updateAfterTransform.compareAndSet(true, false)) return afterTransform;
+            return updateAfter(parent != null ? parent.state(uuid).after() : null);
+        }
+
+        @NotNull BoneMovement after(@Nullable BoneMovement parentMovement) {
+            if (!updateAfterTransform.compareAndSet(true, false)) return afterTransform;
+            return updateAfter(parentMovement);
+        }
+
+        boolean requireUpdate(@Nullable UUID uuid) {
+            return Objects.equals(this.uuid, uuid) && updateAfterTransform.get();
+        }
+
+        private @NotNull BoneMovement updateAfter(@Nullable BoneMovement p) {
             var keyframe = state.afterKeyframe();
             if (keyframe == null) keyframe = AnimationMovement.EMPTY;
+            var bakedParent = bakedParent();
+            if (bakedParent != null) {
+                var hit = group.bakedTransform(bakedParent, keyframe);
+                if (hit != null) return updateAfter(hit);
+            }
             var preventModifierUpdate = interpolationDuration() < 1;
-            var def = defaultFrame.plus(keyframe, movementCache);
-            if (parent != null) {
-                var p = parent.state(uuid).after();
+            var def = local(keyframe);
+            if (parent != null && p != null) {
                 MathUtil.fma(
                         def.position().rotate(p.rotation()),
                         p.scale(),
@@ -615,31 +736,105 @@ public final class RenderedBone implements BoneEventHandler {
                 def.position().add(modifiedPosition(preventModifierUpdate));
                 def.rotation().mul(modifiedRotation(preventModifierUpdate));
             }
-            return lock.accessToWriteLock(() -> afterTransform.set(def));
+            baked = bakedParent != null ? group.bake(bakedParent, keyframe, def) : null;
+            lock.accessToWriteLock(afterTransform, def, BoneMovement::set);
+            return afterTransform;
+        }
+
+        private @NotNull BoneMovement updateAfter(@NotNull BakedTransform hit) {
+            baked = hit;
+            lock.accessToWriteLock(afterTransform, hit.movement(), BoneMovement::set);
+            return afterTransform;
+        }
+
+        //The parent's baked transform, or null if this bone is computed live
+        private @Nullable BakedTransform bakedParent() {
+            if (liveTransform || BetterModel.config().bakedTransformMemory() <= 0) return null;
+            return parent != null ? parent.state(uuid).baked : BakedTransform.ROOT;
+        }
+
+        //Rotating keyframes are shared by every tracker of the same model, others are cheaper to compute than to look up.
+        private @NotNull BoneMovement local(@NotNull AnimationMovement keyframe) {
+            if (keyframe.rotation() == null) return defaultFrame.plus(keyframe, movementCache);
+            return movementCache.set(group.localMovement(defaultFrame, keyframe));
         }
 
-        private boolean tick() {
-            var result = state.tick(() -> {
-                if (uuid != null) {
-                    perPlayerState.remove(uuid);
-                    consumer.accept(uuid);
+        boolean prepare(@NotNull BoneTransformBatch batch, int slot) {
+            if (parent == null || !updateAfterTransform.compareAndSet(true, false)) return false;
+            var keyframe = state.afterKeyframe();
+            if (keyframe == null) keyframe = AnimationMovement.EMPTY;
+            var bakedParent = bakedParent();
+            if (bakedParent != null) {
+                var hit = group.bakedTransform(bakedParent, keyframe);
+                if (hit != null) {
+                    updateAfter(hit);
+                    return false;
                 }
-            }) || firstTick;
+            }
+            preparedKeyframe = keyframe;
+            preparedParent = bakedParent;
+            var preventModifierUpdate = interpolationDuration() < 1;
+            var def = local(keyframe);
+            var position = def.position();
+            batch.positionX[slot] = position.x;
+            batch.positionY[slot] = position.y;
+            batch.positionZ[slot] = position.z;
+            var offset = modifiedPosition(preventModifierUpdate).sub(parent.lastModifiedPosition, positionCache);
+            batch.offsetX[slot] = offset.x;
+            batch.offsetY[slot] = offset.y;
+            batch.offsetZ[slot] = offset.z;
+            var scale = def.scale();
+            batch.scaleX[slot] = scale.x;
+            batch.scaleY[slot] = scale.y;
+            batch.scaleZ[slot] = scale.z;
+            var rotation = def.rotation().mul(modifiedRotation(preventModifierUpdate));
+            batch.rotationX[slot] = rotation.x;
+            batch.rotationY[slot] = rotation.y;
+            batch.rotationZ[slot] = rotation.z;
+            batch.rotationW[slot] = rotation.w;
+            var correction = parent.lastModifiedRotation.invert(rotationCache);
+            batch.correctionX[slot] = correction.x;
+            batch.correctionY[slot] = correction.y;
+            batch.correctionZ[slot] = correction.z;
+            batch.correctionW[slot] = correction.w;
+            batch.globalRotation[slot] = keyframe.globalRotation();
+            return true;
+        }
+
+        @NotNull BoneMovement commit(@NotNull BoneTransformBatch batch, int slot) {
+            var def = batch.composed(slot, movementCache);
+            baked = preparedParent != null ? group.bake(preparedParent, preparedKeyframe, def) : null;
+            lock.accessToWriteLock(afterTransform, def, BoneMovement::set);
+            return afterTransform;
+        }
+
+        //Only sets a mark, so it can be called from any thread. The mark is consumed by the next tick.
+        private void markDirty() {
+            dirtyMark.set(true);
+        }
+
+        private boolean tick(int step) {
+            var marked = dirtyMark.get() && dirtyMark.compareAndSet(true, false);
+            var result = state.tick(step, ifEmpty) || firstTick || marked;
             if (result && updateAfterTransform.compareAndSet(false, true)) {
-                lock.accessToWriteLock(() -> beforeTransform.set(afterTransform));
+                lock.accessToWriteLock(beforeTransform, afterTransform, BoneMovement::set);
                 currentTransform = null;
             }
             firstTick = false;
             return result;
         }
 
+        private int idleFrames() {
+            return firstTick || dirtyMark.get() ? 0 : state.idleFrames();
+        }
+
         private float progress() {
             return 1F - state.progress();
         }
 
         private int interpolationDuration() {
             if (skipInterpolation) return 0;
-            var frame = state.frame() / (float) Tracker.MINECRAFT_TICK_MULTIPLIER;
+            var frame = Math.max(state.frame(), frameDivisor) / (float) Tracker.MINECRAFT_TICK_MULTIPLIER;
             return Math.round(frame + MathUtil.FLOAT_COMPARISON_EPSILON);
         }
 
@@ -663,17 +858,23 @@ public final class RenderedBone implements BoneEventHandler {
                     .mul(mul)
                     .max(EMPTY_VECTOR),
                 boneMovement.rotation(),
+                transformThreshold,
+                forceTransform,
                 bundler
             );
+            forceTransform = false;
         }
 
         private @NotNull Vector3f worldPosition(@NotNull Vector3f localOffset, @NotNull Vector3f globalOffset) {
             var progress = progress();
             var current = current();
             var before = before();
+            //The optimistic read may run more than once, so the scale supplier is sampled only once outside of it.
+            var worldScale = scale.getAsFloat();
+            var offset = itemStack.offset();
             return lock.accessToReadLock(() -> MathUtil.fma(
                     InterpolationUtil.lerp(before.position(), current.position(), progress)
-                        .add(itemStack.offset())
+                        .add(offset)
                         .add(localOffset)
                         .rotate(
                             MathUtil.toQuaternion(InterpolationUtil.lerp(before.rawRotation(), current.rawRotation(), progress))
@@ -683,7 +884,7 @@ public final class RenderedBone implements BoneEventHandler {
 
                 )
                 .add(root.getGroup().getPosition())
-                .mul(scale.getAsFloat())
+                .mul(worldScale)
                 .rotateX(-rotation.radianX())
                 .rotateY(-rotation.radianY()));
         }
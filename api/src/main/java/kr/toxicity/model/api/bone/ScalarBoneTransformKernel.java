@@ -0,0 +1,59 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.bone;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Composes bone transforms one slot at a time.
+ * The arithmetic follows {@link org.joml.Vector3f#rotate(org.joml.Quaternionfc)} and {@link org.joml.Quaternionf#mul(org.joml.Quaternionfc)}.
+ */
+final class ScalarBoneTransformKernel implements BoneTransformKernel {
+
+    static final ScalarBoneTransformKernel INSTANCE = new ScalarBoneTransformKernel();
+
+    private ScalarBoneTransformKernel() {
+    }
+
+    @Override
+    public void compose(@NotNull BoneTransformBatch batch, int count) {
+        compose(batch, 0, count);
+    }
+
+    static void compose(@NotNull BoneTransformBatch b, int from, int to) {
+        for (int i = from; i < to; i++) {
+            //Position
+            float qx = b.parentRotationX[i], qy = b.parentRotationY[i], qz = b.parentRotationZ[i], qw = b.parentRotationW[i];
+            float xx = qx * qx, yy = qy * qy, zz = qz * qz, ww = qw * qw;
+            float xy = qx * qy, xz = qx * qz, yz = qy * qz, xw = qx * qw;
+            float zw = qz * qw, yw = qy * qw, k = 1F / (xx + yy + zz + ww);
+            float x = b.positionX[i], y = b.positionY[i], z = b.positionZ[i];
+            var rx = Math.fma((xx - yy - zz + ww) * k, x, Math.fma(2 * (xy - zw) * k, y, (2 * (xz + yw) * k) * z));
+            var ry = Math.fma(2 * (xy + zw) * k, x, Math.fma((yy - xx - zz + ww) * k, y, (2 * (yz - xw) * k) * z));
+            var rz = Math.fma(2 * (xz - yw) * k, x, Math.fma(2 * (yz + xw) * k, y, ((zz - xx - yy + ww) * k) * z));
+            b.positionX[i] = Math.fma(rx, b.parentScaleX[i], b.parentPositionX[i]) + b.offsetX[i];
+            b.positionY[i] = Math.fma(ry, b.parentScaleY[i], b.parentPositionY[i]) + b.offsetY[i];
+            b.positionZ[i] = Math.fma(rz, b.parentScaleZ[i], b.parentPositionZ[i]) + b.offsetZ[i];
+            //Scale
+            b.scaleX[i] *= b.parentScaleX[i];
+            b.scaleY[i] *= b.parentScaleY[i];
+            b.scaleZ[i] *= b.parentScaleZ[i];
+            //Rotation
+            if (b.globalRotation[i]) continue;
+            float cx = b.correctionX[i], cy = b.correctionY[i], cz = b.correctionZ[i], cw = b.correctionW[i];
+            var px = Math.fma(qw, cx, Math.fma(qx, cw, Math.fma(qy, cz, -qz * cy)));
+            var py = Math.fma(qw, cy, Math.fma(-qx, cz, Math.fma(qy, cw, qz * cx)));
+            var pz = Math.fma(qw, cz, Math.fma(qx, cy, Math.fma(-qy, cx, qz * cw)));
+            var pw = Math.fma(qw, cw, Math.fma(-qx, cx, Math.fma(-qy, cy, -qz * cz)));
+            float lx = b.rotationX[i], ly = b.rotationY[i], lz = b.rotationZ[i], lw = b.rotationW[i];
+            b.rotationX[i] = Math.fma(pw, lx, Math.fma(px, lw, Math.fma(py, lz, -pz * ly)));
+            b.rotationY[i] = Math.fma(pw, ly, Math.fma(-px, lz, Math.fma(py, lw, pz * lx)));
+            b.rotationZ[i] = Math.fma(pw, lz, Math.fma(px, ly, Math.fma(-py, lx, pz * lw)));
+            b.rotationW[i] = Math.fma(pw, lw, Math.fma(-px, lx, Math.fma(-py, ly, -pz * lz)));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.bone;
+
+import kr.toxicity.model.api.BetterModel;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Tinted and glinted display items shared by every tracker.
+ * <p>
+ * Every bone holds its own copy of its group's item, so base items are compared by item equality.
+ * A tint or glint of the same item only has to be built once, no matter how many bones and trackers apply it at the same time.
+ * A key keeps its own copy of the base item, so modifying an item after a lookup does not corrupt the cache.
+ * </p>
+ * <p>
+ * The cache is bounded by {@link kr.toxicity.model.api.BetterModelConfig#tintedItemCacheSize()},
+ * and the least recently used item is evicted first.
+ * </p>
+ */
+@ApiStatus.Internal
+public final class TintedItemCache {
+
+    //Tint value of a glint entry, which is never a valid RGB color
+    private static final int NO_TINT = -1;
+
+    private static final Map<Key, ItemStack> CACHE = new LinkedHashMap<>(16, 0.75F, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ItemStack> eldest) {
+            return size() > BetterModel.config().tintedItemCacheSize();
+        }
+    };
+
+    /**
+     * No initializer
+     */
+    private TintedItemCache() {
+        throw new RuntimeException();
+    }
+
+    /**
+     * Gets a tinted copy of an item
+     * @param base base item
+     * @param rgb tint color
+     * @return tinted item
+     */
+    static @NotNull ItemStack tint(@NotNull ItemStack base, int rgb) {
+        return get(base, rgb, false, () -> BetterModel.nms().tint(base, rgb));
+    }
+
+    /**
+     * Gets a copy of an item with or without enchantment glint
+     * @param base base item
+     * @param glint should glint
+     * @return glinted item
+     */
+    static @NotNull ItemStack glint(@NotNull ItemStack base, boolean glint) {
+        return get(base, NO_TINT, glint, () -> {
+            var item = base.clone();
+            var meta = item.getItemMeta();
+            if (meta == null) return item;
+            meta.setEnchantmentGlintOverride(glint);
+            item.setItemMeta(meta);
+            return item;
+        });
+    }
+
+    private static @NotNull ItemStack get(@NotNull ItemStack base, int rgb, boolean glint, @NotNull Supplier<ItemStack> supplier) {
+        if (BetterModel.config().tintedItemCacheSize() <= 0) return supplier.get();
+        var key = new Key(base, rgb, glint);
+        synchronized (CACHE) {
+            var cached = CACHE.get(key);
+            if (cached != null) return cached;
+        }
+        var item = supplier.get();
+        synchronized (CACHE) {
+            var previous = CACHE.putIfAbsent(new Key(base.clone(), rgb, glint), item);
+            return previous != null ? previous : item;
+        }
+    }
+
+    /**
+     * Clears all cached items
+     */
+    public static void reset() {
+        synchronized (CACHE) {
+            CACHE.clear();
+        }
+    }
+
+    /**
+     * Gets the number of cached items
+     * @return size
+     */
+    public static int size() {
+        synchronized (CACHE) {
+            return CACHE.size();
+        }
+    }
+
+    private static final class Key {
+        private final ItemStack base;
+        private final int rgb;
+        private final boolean glint;
+        private final int hash;
+
+        private Key(@NotNull ItemStack base, int rgb, boolean glint) {
+            this.base = base;
+            this.rgb = rgb;
+            this.glint = glint;
+            hash = 31 * (31 * base.hashCode() + rgb) + Boolean.hashCode(glint);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key key)) return false;
+            return hash == key.hash && rgb == key.rgb && glint == key.glint && base.equals(key.base);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
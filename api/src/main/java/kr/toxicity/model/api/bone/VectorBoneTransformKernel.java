@@ -0,0 +1,91 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.bone;
+
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Composes bone transforms with the Vector API, one vector of slots at a time.
+ * <p>
+ * It is only loaded if the {@value BoneTransformKernel#VECTOR_MODULE} module is enabled,
+ * e.g. by {@code --add-modules jdk.incubator.vector}. The remaining slots are composed by {@link ScalarBoneTransformKernel}.
+ * </p>
+ */
+final class VectorBoneTransformKernel implements BoneTransformKernel {
+
+    static final VectorBoneTransformKernel INSTANCE = new VectorBoneTransformKernel();
+
+    private static final VectorSpecies<Float> SPECIES = FloatVector.SPECIES_PREFERRED;
+
+    private VectorBoneTransformKernel() {
+    }
+
+    @Override
+    public void compose(@NotNull BoneTransformBatch batch, int count) {
+        var bound = SPECIES.loopBound(count);
+        for (int i = 0; i < bound; i += SPECIES.length()) {
+            compose(batch, i);
+        }
+        ScalarBoneTransformKernel.compose(batch, bound, count);
+    }
+
+    private static void compose(@NotNull BoneTransformBatch b, int i) {
+        //Position
+        var qx = FloatVector.fromArray(SPECIES, b.parentRotationX, i);
+        var qy = FloatVector.fromArray(SPECIES, b.parentRotationY, i);
+        var qz = FloatVector.fromArray(SPECIES, b.parentRotationZ, i);
+        var qw = FloatVector.fromArray(SPECIES, b.parentRotationW, i);
+        var xx = qx.mul(qx);
+        var yy = qy.mul(qy);
+        var zz = qz.mul(qz);
+        var ww = qw.mul(qw);
+        var xy = qx.mul(qy);
+        var xz = qx.mul(qz);
+        var yz = qy.mul(qz);
+        var xw = qx.mul(qw);
+        var zw = qz.mul(qw);
+        var yw = qy.mul(qw);
+        var k = FloatVector.broadcast(SPECIES, 1F).div(xx.add(yy).add(zz).add(ww));
+        var x = FloatVector.fromArray(SPECIES, b.positionX, i);
+        var y = FloatVector.fromArray(SPECIES, b.positionY, i);
+        var z = FloatVector.fromArray(SPECIES, b.positionZ, i);
+        var rx = xx.sub(yy).sub(zz).add(ww).mul(k).fma(x, xy.sub(zw).mul(2F).mul(k).fma(y, xz.add(yw).mul(2F).mul(k).mul(z)));
+        var ry = xy.add(zw).mul(2F).mul(k).fma(x, yy.sub(xx).sub(zz).add(ww).mul(k).fma(y, yz.sub(xw).mul(2F).mul(k).mul(z)));
+        var rz = xz.sub(yw).mul(2F).mul(k).fma(x, yz.add(xw).mul(2F).mul(k).fma(y, zz.sub(xx).sub(yy).add(ww).mul(k).mul(z)));
+        var sx = FloatVector.fromArray(SPECIES, b.parentScaleX, i);
+        var sy = FloatVector.fromArray(SPECIES, b.parentScaleY, i);
+        var sz = FloatVector.fromArray(SPECIES, b.parentScaleZ, i);
+        rx.fma(sx, FloatVector.fromArray(SPECIES, b.parentPositionX, i)).add(FloatVector.fromArray(SPECIES, b.offsetX, i)).intoArray(b.positionX, i);
+        ry.fma(sy, FloatVector.fromArray(SPECIES, b.parentPositionY, i)).add(FloatVector.fromArray(SPECIES, b.offsetY, i)).intoArray(b.positionY, i);
+        rz.fma(sz, FloatVector.fromArray(SPECIES, b.parentPositionZ, i)).add(FloatVector.fromArray(SPECIES, b.offsetZ, i)).intoArray(b.positionZ, i);
+        //Scale
+        FloatVector.fromArray(SPECIES, b.scaleX, i).mul(sx).intoArray(b.scaleX, i);
+        FloatVector.fromArray(SPECIES, b.scaleY, i).mul(sy).intoArray(b.scaleY, i);
+        FloatVector.fromArray(SPECIES, b.scaleZ, i).mul(sz).intoArray(b.scaleZ, i);
+        //Rotation
+        var global = VectorMask.fromArray(SPECIES, b.globalRotation, i);
+        var cx = FloatVector.fromArray(SPECIES, b.correctionX, i);
+        var cy = FloatVector.fromArray(SPECIES, b.correctionY, i);
+        var cz = FloatVector.fromArray(SPECIES, b.correctionZ, i);
+        var cw = FloatVector.fromArray(SPECIES, b.correctionW, i);
+        var px = qw.fma(cx, qx.fma(cw, qy.fma(cz, qz.neg().mul(cy)))).blend(0F, global);
+        var py = qw.fma(cy, qx.neg().fma(cz, qy.fma(cw, qz.mul(cx)))).blend(0F, global);
+        var pz = qw.fma(cz, qx.fma(cy, qy.neg().fma(cx, qz.mul(cw)))).blend(0F, global);
+        var pw = qw.fma(cw, qx.neg().fma(cx, qy.neg().fma(cy, qz.neg().mul(cz)))).blend(1F, global);
+        var lx = FloatVector.fromArray(SPECIES, b.rotationX, i);
+        var ly = FloatVector.fromArray(SPECIES, b.rotationY, i);
+        var lz = FloatVector.fromArray(SPECIES, b.rotationZ, i);
+        var lw = FloatVector.fromArray(SPECIES, b.rotationW, i);
+        pw.fma(lx, px.fma(lw, py.fma(lz, pz.neg().mul(ly)))).intoArray(b.rotationX, i);
+        pw.fma(ly, px.neg().fma(lz, py.fma(lw, pz.mul(lx)))).intoArray(b.rotationY, i);
+        pw.fma(lz, px.fma(ly, py.neg().fma(lx, pz.mul(lw)))).intoArray(b.rotationZ, i);
+        pw.fma(lw, px.neg().fma(lx, py.neg().fma(ly, pz.neg().mul(lz)))).intoArray(b.rotationW, i);
+    }
+}
@@ -0,0 +1,104 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Tick-rate level of detail config
+ * @param enabled enabled
+ * @param levels levels sorted by distance
+ */
+public record LodConfig(
+        boolean enabled,
+        @NotNull @Unmodifiable List<Level> levels
+) {
+    /**
+     * Default config
+     */
+    public static final LodConfig DEFAULT = new LodConfig(
+            false,
+            List.of(
+                    new Level(24, 2),
+                    new Level(48, 5),
+                    new Level(96, 10)
+            )
+    );
+
+    /**
+     * Default per-viewer config
+     */
+    public static final LodConfig VIEWER_DEFAULT = new LodConfig(
+            true,
+            List.of(
+                    new Level(32, 10),
+                    new Level(64, 20)
+            )
+    );
+
+    /**
+     * Gets frame divisor of this distance
+     * @param distanceSquared squared distance of the closest viewer
+     * @return frame divisor
+     */
+    public int divisor(double distanceSquared) {
+        if (!enabled) return 1;
+        var divisor = 1;
+        for (Level level : levels) {
+            if (distanceSquared < level.distance * level.distance) break;
+            divisor = level.divisor;
+        }
+        return divisor;
+    }
+
+    /**
+     * Creates config from YAML
+     * @param section yaml
+     * @return config
+     */
+    public static @NotNull LodConfig from(@NotNull ConfigurationSection section) {
+        return from(section, DEFAULT);
+    }
+
+    /**
+     * Creates config from YAML
+     * @param section yaml
+     * @param def default config used if levels are not specified
+     * @return config
+     */
+    public static @NotNull LodConfig from(@NotNull ConfigurationSection section, @NotNull LodConfig def) {
+        var levelSection = section.getConfigurationSection("levels");
+        return new LodConfig(
+                section.getBoolean("enabled", def.enabled),
+                levelSection != null ? levelSection.getKeys(false)
+                        .stream()
+                        .map(key -> {
+                            try {
+                                return new Level(Double.parseDouble(key), levelSection.getInt(key, 1));
+                            } catch (NumberFormatException e) {
+                                return null;
+                            }
+                        })
+                        .filter(level -> level != null && level.divisor > 1)
+                        .sorted(Comparator.comparingDouble(Level::distance))
+                        .toList() : def.levels
+        );
+    }
+
+    /**
+     * Level of detail
+     * @param distance min distance of the closest viewer
+     * @param divisor frame divisor
+     */
+    public record Level(double distance, int divisor) {
+    }
+}
@@ -0,0 +1,84 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracker scheduler config
+ * @param frameBudget per-frame CPU budget of each worker in milliseconds
+ * @param regionAffine runs each tracker on its owning region thread (Folia only)
+ * @param executionMode execution mode of tracker frames
+ * @param pinningThreshold min duration of reported virtual thread pinning in milliseconds
+ */
+public record SchedulerConfig(
+        double frameBudget,
+        boolean regionAffine,
+        @NotNull ExecutionMode executionMode,
+        long pinningThreshold
+) {
+    /**
+     * Default config
+     */
+    public static final SchedulerConfig DEFAULT = new SchedulerConfig(
+            0,
+            false,
+            ExecutionMode.PLATFORM,
+            20
+    );
+
+    /**
+     * Gets per-frame CPU budget of each worker in nanoseconds
+     * @return budget or 0 if disabled
+     */
+    public long frameBudgetNanos() {
+        return frameBudget <= 0 ? 0 : (long) (frameBudget * TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * Creates config from YAML
+     * @param section yaml
+     * @return config
+     */
+    public static @NotNull SchedulerConfig from(@NotNull ConfigurationSection section) {
+        return new SchedulerConfig(
+                section.getDouble("frame-budget", DEFAULT.frameBudget),
+                section.getBoolean("region-affine", DEFAULT.regionAffine),
+                ExecutionMode.from(section.getString("execution-mode")),
+                section.getLong("pinning-threshold", DEFAULT.pinningThreshold)
+        );
+    }
+
+    /**
+     * Execution mode of tracker frames
+     */
+    public enum ExecutionMode {
+        /**
+         * Runs frames on the platform worker threads
+         */
+        PLATFORM,
+        /**
+         * Runs each frame as a virtual thread task
+         */
+        VIRTUAL
+        ;
+
+        private static @NotNull ExecutionMode from(@Nullable String name) {
+            if (name == null) return DEFAULT.executionMode;
+            try {
+                return valueOf(name.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                return DEFAULT.executionMode;
+            }
+        }
+    }
+}
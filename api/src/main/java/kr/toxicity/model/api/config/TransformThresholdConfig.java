@@ -0,0 +1,100 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.config;
+
+import kr.toxicity.model.api.util.MathUtil;
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Display transformation threshold config
+ * @param enabled enabled
+ * @param global threshold of every model
+ * @param models threshold of each model
+ */
+public record TransformThresholdConfig(
+        boolean enabled,
+        @NotNull Threshold global,
+        @NotNull @Unmodifiable Map<String, Threshold> models
+) {
+    /**
+     * Default config
+     */
+    public static final TransformThresholdConfig DEFAULT = new TransformThresholdConfig(
+            false,
+            new Threshold(0.001F, 0.001F, 0.0005F),
+            Map.of()
+    );
+
+    /**
+     * Gets threshold of this model
+     * @param name model name
+     * @return threshold, or {@link Threshold#EXACT} if disabled
+     */
+    public @NotNull Threshold threshold(@NotNull String name) {
+        if (!enabled) return Threshold.EXACT;
+        return models.getOrDefault(name, global);
+    }
+
+    /**
+     * Creates config from YAML
+     * @param section yaml
+     * @return config
+     */
+    public static @NotNull TransformThresholdConfig from(@NotNull ConfigurationSection section) {
+        var global = Threshold.from(section, DEFAULT.global);
+        var modelSection = section.getConfigurationSection("models");
+        var models = new HashMap<String, Threshold>();
+        if (modelSection != null) for (String key : modelSection.getKeys(false)) {
+            var model = modelSection.getConfigurationSection(key);
+            if (model != null) models.put(key, Threshold.from(model, global));
+        }
+        return new TransformThresholdConfig(section.getBoolean("enabled", false), global, Map.copyOf(models));
+    }
+
+    /**
+     * Per-field threshold.
+     * A display is not updated if every field changed less than its threshold since the last sent value.
+     * @param position max ignored position difference
+     * @param scale max ignored scale difference
+     * @param rotation max ignored rotation difference
+     */
+    public record Threshold(float position, float scale, float rotation) {
+        /**
+         * Threshold that only ignores float errors
+         */
+        public static final Threshold EXACT = new Threshold(
+                MathUtil.FLOAT_COMPARISON_EPSILON,
+                MathUtil.FLOAT_COMPARISON_EPSILON,
+                MathUtil.FLOAT_COMPARISON_EPSILON
+        );
+
+        /**
+         * Creates threshold
+         * @param position max ignored position difference
+         * @param scale max ignored scale difference
+         * @param rotation max ignored rotation difference
+         */
+        public Threshold {
+            position = Math.max(position, MathUtil.FLOAT_COMPARISON_EPSILON);
+            scale = Math.max(scale, MathUtil.FLOAT_COMPARISON_EPSILON);
+            rotation = Math.max(rotation, MathUtil.FLOAT_COMPARISON_EPSILON);
+        }
+
+        private static @NotNull Threshold from(@NotNull ConfigurationSection section, @NotNull Threshold def) {
+            return new Threshold(
+                    (float) section.getDouble("position", def.position),
+                    (float) section.getDouble("scale", def.scale),
+                    (float) section.getDouble("rotation", def.rotation)
+            );
+        }
+    }
+}
@@ -9,16 +9,22 @@ package kr.toxicity.model.api.data.renderer;
 import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.animation.AnimationPredicate;
 import kr.toxicity.model.api.animation.RunningAnimation;
+import it.unimi.dsi.fastutil.ints.Int2ObjectArrayMap;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
 import kr.toxicity.model.api.bone.*;
+import kr.toxicity.model.api.config.LodConfig;
 import kr.toxicity.model.api.nms.HitBox;
 import kr.toxicity.model.api.nms.PacketBundler;
 import kr.toxicity.model.api.nms.PlayerChannelHandler;
+import kr.toxicity.model.api.profiler.ModelProfiler;
 import kr.toxicity.model.api.tracker.ModelRotation;
+import kr.toxicity.model.api.tracker.Tracker;
 import kr.toxicity.model.api.util.FunctionUtil;
 import kr.toxicity.model.api.util.function.BonePredicate;
 import kr.toxicity.model.api.util.function.FloatSupplier;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
@@ -45,6 +51,8 @@ import static kr.toxicity.model.api.util.CollectionUtil.associate;
  */
 public final class RenderPipeline implements BoneEventHandler {
 
+    private static final int MAX_BONE_MASKS = 32;
+
     @Getter
     private final ModelRenderer parent;
     @Getter
@@ -58,6 +66,12 @@ public final class RenderPipeline implements BoneEventHandler {
 
     private final BoneEventDispatcher eventDispatcher = new BoneEventDispatcher();
     private final BoneIKSolver ikSolver;
+    private final BoneTransformEngine transformEngine;
+    private final RenderedBone[] treeBones;
+    private final int[] subtreeEnds;
+    private final Reference2IntOpenHashMap<RenderedBone> treeIndices = new Reference2IntOpenHashMap<>();
+    private final Map<BonePredicate, BitSet> boneMasks = new ConcurrentHashMap<>();
+    private final BitSet dirtyBones = new BitSet(), playerDirtyBones = new BitSet();
 
     private Predicate<Player> viewFilter = p -> true;
     private Predicate<Player> hideFilter = p -> hidePlayerSet.contains(p.getUniqueId());
@@ -69,6 +83,8 @@ public final class RenderPipeline implements BoneEventHandler {
 
     @Getter
     private ModelRotation rotation = ModelRotation.INVALID;
+    @Getter
+    private volatile int frameDivisor = 1;
 
     /**
      * Creates a new render pipeline.
@@ -94,9 +110,25 @@ public final class RenderPipeline implements BoneEventHandler {
                 .peek(bone -> bone.extend(this)),
             RenderedBone::name
         );
+        treeBones = boneMap.values()
+            .stream()
+            .flatMap(RenderedBone::flatten)
+            .toArray(RenderedBone[]::new);
+        subtreeEnds = new int[treeBones.length];
+        treeIndices.defaultReturnValue(-1);
+        for (int i = 0; i < treeBones.length; i++) {
+            subtreeEnds[i] = i + treeBones[i].flattenBones().size();
+            treeIndices.put(treeBones[i], i);
+        }
         ikSolver = new BoneIKSolver(associate(flattenBoneMap.values(), RenderedBone::uuid));
+        var config = BetterModel.config();
+        transformEngine = config.linearBoneTransform() ? new BoneTransformEngine(boneMap.values(), config.vectorBoneTransform()) : null;
+        var threshold = config.transformThreshold().threshold(name());
         displayAmount = (int) flattenBoneMap.values().stream()
-            .peek(bone -> bone.locator(ikSolver))
+            .peek(bone -> {
+                bone.locator(ikSolver);
+                bone.transformThreshold(threshold);
+            })
             .filter(rb -> rb.getDisplay() != null)
             .count();
     }
@@ -275,14 +307,171 @@ public final class RenderPipeline implements BoneEventHandler {
      * @since 1.15.2
      */
     public boolean tick(@NotNull PacketBundler bundler) {
-        var match = matchTree(RenderedBone::tick);
+        return tick(1, bundler);
+    }
+
+    /**
+     * Ticks the model by multiple frames at once, updating animations and IK.
+     *
+     * @param step the elapsed frames since the last tick
+     * @param bundler the packet bundler to use
+     * @return true if any updates occurred
+     * @since 1.15.2
+     */
+    public boolean tick(int step, @NotNull PacketBundler bundler) {
+        var profile = ModelProfiler.INSTANCE.profile(name());
+        var time = ModelProfiler.start(profile);
+        var dirty = markDirtyBones(null, step, dirtyBones);
+        time = ModelProfiler.record(profile, ModelProfiler.Phase.ANIMATION, time);
+        var match = !dirty.isEmpty();
         if (match) {
+            if (transformEngine != null) transformEngine.update(null, dirty);
             ikSolver.solve();
-            iterateTree(b -> b.sendTransformation(null, bundler));
+            markSolvedBones(null, dirty);
+            if (profile != null) profile.ik(ikSolver.lastSolved(), ikSolver.lastSkipped(), ikSolver.lastIterations());
+            time = ModelProfiler.record(profile, ModelProfiler.Phase.IK, time);
+            for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+                treeBones[i].sendTransformation(null, bundler);
+            }
+            ModelProfiler.record(profile, ModelProfiler.Phase.TRANSFORMATION, time);
         }
         return match;
     }
 
+    /**
+     * Returns the number of frames this model can skip without missing any keyframe change.
+     *
+     * @return the idle frames
+     * @since 1.15.2
+     */
+    public int idleFrames() {
+        var idle = Integer.MAX_VALUE;
+        for (RenderedBone bone : bones()) {
+            idle = Math.min(idle, bone.idleFrames());
+            if (idle == 0) break;
+        }
+        return idle;
+    }
+
+    /**
+     * Sets the frame divisor used to tick this model.
+     * <p>
+     * Interpolation durations of every bone are stretched to cover at least this many frames,
+     * so models ticked at a lower rate still animate smoothly on the client.
+     * </p>
+     *
+     * @param frameDivisor the frame divisor
+     * @return true if the divisor changed
+     * @since 1.15.2
+     */
+    public boolean frameDivisor(int frameDivisor) {
+        var divisor = Math.max(frameDivisor, 1);
+        if (this.frameDivisor == divisor) return false;
+        this.frameDivisor = divisor;
+        iterateTree(b -> b.frameDivisor(divisor));
+        return true;
+    }
+
+    /**
+     * Samples the distance between each viewer and the given location.
+     * <p>
+     * It reads viewer locations, so it must run on a thread which owns the viewers (the region thread on Folia).
+     * Viewers owned by another region keep their previous sample.
+     * The level of detail is computed from these samples on the tracker thread.
+     * </p>
+     *
+     * @param location the location of the model
+     * @since 1.15.2
+     */
+    public void sampleViewers(@NotNull Location location) {
+        var world = location.getWorld();
+        var scheduler = BetterModel.plugin().scheduler();
+        for (SpawnedPlayer spawned : playerMap.values()) {
+            if (BetterModel.IS_FOLIA && !scheduler.isOwnedByCurrentThread(spawned.handler.base())) continue;
+            var player = spawned.handler.player();
+            spawned.distanceSquared = player.getWorld() == world ? player.getLocation().distanceSquared(location) : Double.MAX_VALUE;
+            spawned.visible = viewFilter.test(player);
+        }
+    }
+
+    /**
+     * Returns the sampled squared distance of the closest viewer.
+     *
+     * @return the squared distance, or {@link Double#MAX_VALUE} if no viewer is in the same world
+     * @see #sampleViewers(Location)
+     * @since 1.15.2
+     */
+    public double closestViewerDistanceSquared() {
+        var min = Double.MAX_VALUE;
+        for (SpawnedPlayer spawned : playerMap.values()) {
+            if (spawned.visible) min = Math.min(min, spawned.distanceSquared);
+        }
+        return min;
+    }
+
+    /**
+     * Groups viewers into distance bands by their sampled distance.
+     * <p>
+     * Each viewer gets the frame divisor of its own distance, so far viewers can receive transformation updates less often
+     * even if the model is ticked at full rate for near viewers.
+     * </p>
+     *
+     * @param config the per-viewer level of detail config
+     * @see #sampleViewers(Location)
+     * @since 1.15.2
+     */
+    public void viewerBands(@NotNull LodConfig config) {
+        for (SpawnedPlayer spawned : playerMap.values()) {
+            var distance = spawned.distanceSquared;
+            spawned.band = config.enabled() && distance != Double.MAX_VALUE ? config.divisor(distance) : 1;
+        }
+    }
+
+    /**
+     * Sends transformation packets to viewers by their distance band.
+     * <p>
+     * Viewers whose band is not larger than the frame divisor of this model receive the bundler as is.
+     * Viewers of a farther band skip it and receive a full transformation snapshot when their band is due,
+     * with an interpolation duration which covers the whole band, so the client smooths out the lower rate.
+     * A snapshot is built once per band and shared by every viewer in it.
+     * </p>
+     *
+     * @param bundler the bundler of changed transformations
+     * @param due whether the band of some frame divisor is due on this frame
+     * @param excluded whether some viewer receives its own per-player transformations
+     * @since 1.15.2
+     */
+    public void sendTransformation(@NotNull PacketBundler bundler, @NotNull IntPredicate due, @NotNull Predicate<UUID> excluded) {
+        var changed = bundler.isNotEmpty();
+        var divisor = frameDivisor;
+        List<Player> near = null;
+        Int2ObjectArrayMap<List<Player>> far = null;
+        for (SpawnedPlayer spawned : playerMap.values()) {
+            if (!changed && !spawned.staleTransformation) continue;
+            var player = spawned.handler.player();
+            if (excluded.test(player.getUniqueId()) || !viewFilter.test(player)) continue;
+            var band = spawned.band;
+            if (band <= divisor && !spawned.staleTransformation) {
+                if (near == null) near = new ArrayList<>();
+                near.add(player);
+                continue;
+            }
+            //A viewer which has skipped some update needs a full snapshot, even if it has moved to a nearer band
+            if (changed) spawned.staleTransformation = true;
+            if (band > divisor && !due.test(band)) continue;
+            spawned.staleTransformation = false;
+            if (far == null) far = new Int2ObjectArrayMap<>();
+            far.computeIfAbsent(band, b -> new ArrayList<>()).add(player);
+        }
+        if (near != null) bundler.send(near);
+        if (far != null) for (var entry : far.int2ObjectEntrySet()) {
+            var duration = Math.ceilDiv(entry.getIntKey(), Tracker.MINECRAFT_TICK_MULTIPLIER);
+            var snapshot = createBundler();
+            iterateTree(bone -> bone.forceTransformation(Math.max(bone.interpolationDuration(), duration), snapshot));
+            if (snapshot.isNotEmpty()) snapshot.send(entry.getValue());
+        }
+    }
+
     /**
      * Ticks the model for a specific player (e.g., for per-player animations).
      *
@@ -292,14 +481,91 @@ public final class RenderPipeline implements BoneEventHandler {
      * @since 1.15.2
      */
     public boolean tick(@NotNull UUID uuid, @NotNull PacketBundler bundler) {
-        var match = matchTree(b -> b.tick(uuid));
+        return tick(uuid, 1, bundler);
+    }
+
+    /**
+     * Ticks the model for a specific player by multiple frames at once.
+     *
+     * @param uuid the UUID of the player
+     * @param step the elapsed frames since the last tick
+     * @param bundler the packet bundler to use
+     * @return true if any updates occurred
+     * @since 1.15.2
+     */
+    public boolean tick(@NotNull UUID uuid, int step, @NotNull PacketBundler bundler) {
+        var profile = ModelProfiler.INSTANCE.profile(name());
+        var time = ModelProfiler.start(profile);
+        var dirty = markDirtyBones(uuid, step, playerDirtyBones);
+        //Per-player states are recorded to their own phases, so they do not skew the global frame phases.
+        time = ModelProfiler.record(profile, ModelProfiler.Phase.PLAYER_ANIMATION, time);
+        var match = !dirty.isEmpty();
         if (match) {
+            if (transformEngine != null) transformEngine.update(uuid, dirty);
             ikSolver.solve(uuid);
-            iterateTree(b -> b.sendTransformation(uuid, bundler));
+            markSolvedBones(uuid, dirty);
+            time = ModelProfiler.record(profile, ModelProfiler.Phase.PLAYER_IK, time);
+            for (int i = dirty.nextSetBit(0); i >= 0; i = dirty.nextSetBit(i + 1)) {
+                treeBones[i].sendTransformation(uuid, bundler);
+            }
+            ModelProfiler.record(profile, ModelProfiler.Phase.PLAYER_TRANSFORMATION, time);
         }
         return match;
     }
 
+    /**
+     * Ticks every bone and collects the bones whose transform has changed.
+     * <p>
+     * A bone is dirty when its keyframe has shifted or it has been marked by a modifier or item change.
+     * Its whole subtree is marked dirty too, because children are composed with the parent transform.
+     * Bones outside of any dirty subtree skip both transform composition and packet building.
+     * </p>
+     *
+     * @param uuid player uuid or null for global state
+     * @param step the elapsed frames since the last tick
+     * @param dirty the bitset to store dirty bones by tree index
+     * @return the given bitset
+     */
+    private @NotNull BitSet markDirtyBones(@Nullable UUID uuid, int step, @NotNull BitSet dirty) {
+        dirty.clear();
+        var dirtyEnd = 0;
+        for (int i = 0; i < treeBones.length; i++) {
+            var bone = treeBones[i];
+            var propagated = i < dirtyEnd;
+            if (propagated) bone.markDirty(uuid);
+            var ticked = uuid == null ? bone.tick(step) : bone.tick(uuid, step);
+            if (ticked && !propagated) {
+                dirtyEnd = subtreeEnds[i];
+                dirty.set(i, dirtyEnd);
+            }
+        }
+        return dirty;
+    }
+
+    /**
+     * Adds the bones rewritten by the last IK solve to the dirty bones.
+     * <p>
+     * Chain bones don't contain their own locator, so they are often not dirty when only the locator has moved.
+     * Their subtrees are added too, and bones which were not dirty in this tick are marked to be recomputed at the next tick,
+     * so their children are composed with the solved pose.
+     * </p>
+     *
+     * @param uuid player uuid or null for global state
+     * @param dirty the bitset of dirty bones by tree index
+     */
+    private void markSolvedBones(@Nullable UUID uuid, @NotNull BitSet dirty) {
+        var changed = ikSolver.lastChanged();
+        for (int c = 0; c < changed.size(); c++) {
+            var index = treeIndices.getInt(changed.get(c));
+            if (index < 0 || dirty.get(index)) continue;
+            var end = subtreeEnds[index];
+            for (int i = index; i < end; i++) {
+                if (!dirty.get(i)) treeBones[i].markDirty(uuid);
+            }
+            dirty.set(index, end);
+        }
+    }
+
     /**
      * Sets the default position modifier for all bones.
      *
@@ -435,6 +701,7 @@ public final class RenderPipeline implements BoneEventHandler {
     public boolean matchTree(@NotNull BonePredicate predicate, BiPredicate<RenderedBone, BonePredicate> mapper) {
         Objects.requireNonNull(predicate);
         Objects.requireNonNull(mapper);
+        if (predicate.cacheable()) return matchMask(predicate, mapper);
         var result = false;
         for (RenderedBone value : boneMap.values()) {
             if (value.matchTree(predicate, mapper)) result = true;
@@ -442,6 +709,80 @@ public final class RenderPipeline implements BoneEventHandler {
         return result;
     }
 
+    /**
+     * Applies a mapper to the bones in the precomputed mask of a cacheable predicate.
+     * <p>
+     * Bones outside the mask never match, so only set bits are visited.
+     * Children of a matched bone are handled by the predicate's child state:
+     * the whole subtree for {@link BonePredicate.State#TRUE}, nothing for {@link BonePredicate.State#FALSE}.
+     * </p>
+     *
+     * @param predicate the cacheable predicate
+     * @param mapper the mapper function
+     * @return true if any bones matched
+     */
+    private boolean matchMask(@NotNull BonePredicate predicate, @NotNull BiPredicate<RenderedBone, BonePredicate> mapper) {
+        var mask = boneMask(predicate);
+        var state = predicate.applyAtChildren();
+        var result = false;
+        var i = mask.nextSetBit(0);
+        while (i >= 0) {
+            if (!mapper.test(treeBones[i], predicate)) {
+                i = mask.nextSetBit(i + 1);
+                continue;
+            }
+            result = true;
+            switch (state) {
+                case TRUE -> {
+                    var end = subtreeEnds[i];
+                    for (int j = i + 1; j < end; j++) {
+                        mapper.test(treeBones[j], BonePredicate.TRUE);
+                    }
+                    i = mask.nextSetBit(end);
+                }
+                case FALSE -> i = mask.nextSetBit(subtreeEnds[i]);
+                case NOT_SET -> i = mask.nextSetBit(i + 1);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the bones matched by a cacheable predicate as a mask over the flattened bone tree.
+     *
+     * @param predicate the cacheable predicate
+     * @return the bone mask
+     */
+    private @NotNull BitSet boneMask(@NotNull BonePredicate predicate) {
+        var mask = boneMasks.get(predicate);
+        if (mask != null) return mask;
+        mask = new BitSet(treeBones.length);
+        for (int i = 0; i < treeBones.length; i++) {
+            if (predicate.test(treeBones[i])) mask.set(i);
+        }
+        if (boneMasks.size() < MAX_BONE_MASKS) boneMasks.putIfAbsent(predicate, mask);
+        return mask;
+    }
+
+    /**
+     * Finds the first bone matching a predicate in the bone tree order.
+     *
+     * @param predicate the bone predicate
+     * @return the first matched bone, or null
+     * @since 1.15.2
+     */
+    public @Nullable RenderedBone firstBone(@NotNull BonePredicate predicate) {
+        Objects.requireNonNull(predicate);
+        if (predicate.cacheable()) {
+            var i = boneMask(predicate).nextSetBit(0);
+            return i >= 0 ? treeBones[i] : null;
+        }
+        for (RenderedBone bone : treeBones) {
+            if (predicate.test(bone)) return bone;
+        }
+        return null;
+    }
+
     /**
      * Applies a mapper to bones matching an animation predicate.
      *
@@ -610,6 +951,11 @@ public final class RenderPipeline implements BoneEventHandler {
     public class SpawnedPlayer {
         private final PlayerChannelHandler handler;
         private boolean initialLoad;
+        private int band = 1;
+        private boolean staleTransformation;
+        //Sampled on the thread which owns the viewer, near and visible until the first sample.
+        private volatile double distanceSquared;
+        private volatile boolean visible = true;
 
         /**
          * Loads the model for this player, sending initial packets.
@@ -7,6 +7,7 @@
 package kr.toxicity.model.api.data.renderer;
 
 import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.animation.AnimationMovement;
 import kr.toxicity.model.api.bone.*;
 import kr.toxicity.model.api.data.blueprint.BlueprintElement;
 import kr.toxicity.model.api.data.blueprint.NamedBoundingBox;
@@ -18,6 +19,7 @@ import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.bukkit.Material;
 import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.Unmodifiable;
@@ -25,6 +27,7 @@ import org.joml.Vector3f;
 
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Stream;
 
 import static kr.toxicity.model.api.util.CollectionUtil.mapValue;
@@ -36,6 +39,7 @@ import static kr.toxicity.model.api.util.CollectionUtil.mapValue;
 public final class RendererGroup {
 
     private static final Vector3f DEFAULT_SCALE = new Vector3f(1);
+    private static final int MAX_KEYFRAME_CONVERSIONS = 4096;
     @Getter
     private final BlueprintElement.Bone parent;
     @Getter
@@ -54,6 +58,9 @@ public final class RendererGroup {
     @Getter
     private final @NotNull MountController mountController;
 
+    private final Map<AnimationMovement, BoneMovement> keyframeConversions = new ConcurrentHashMap<>();
+    private final Map<BakedTransform, Map<AnimationMovement, BakedTransform>> bakedTransforms = new ConcurrentHashMap<>();
+
     /**
      * Creates group instance.
      * @param scale scale
@@ -135,6 +142,65 @@ public final class RendererGroup {
         );
     }
 
+    /**
+     * Gets the local movement of this group at some keyframe.
+     * <p>
+     * This only caches the conversion of a keyframe into a local movement, most of which is the Euler to quaternion conversion.
+     * Every bone created by this group has the same default movement, so bones playing the same keyframe reuse one conversion.
+     * Reads are lock-free. If the cache is full, an arbitrary conversion is evicted for the new one.
+     * </p>
+     * @param defaultMovement default movement of this group
+     * @param keyframe keyframe
+     * @return shared local movement, which must not be modified
+     */
+    @ApiStatus.Internal
+    public @NotNull BoneMovement localMovement(@NotNull BoneMovement defaultMovement, @NotNull AnimationMovement keyframe) {
+        var cached = keyframeConversions.get(keyframe);
+        if (cached != null) return cached;
+        var movement = defaultMovement.plus(keyframe, new BoneMovement());
+        var previous = keyframeConversions.putIfAbsent(keyframe, movement);
+        if (previous != null) return previous;
+        if (keyframeConversions.size() > MAX_KEYFRAME_CONVERSIONS) {
+            var iterator = keyframeConversions.keySet().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next() != keyframe) {
+                    iterator.remove();
+                    break;
+                }
+            }
+        }
+        return movement;
+    }
+
+    /**
+     * Gets the baked transform of this group at some keyframe.
+     * @param parent baked transform of the parent bone
+     * @param keyframe keyframe
+     * @return baked transform or null if not baked yet
+     */
+    @ApiStatus.Internal
+    public @Nullable BakedTransform bakedTransform(@NotNull BakedTransform parent, @NotNull AnimationMovement keyframe) {
+        var map = bakedTransforms.get(parent);
+        return map != null ? map.get(keyframe) : null;
+    }
+
+    /**
+     * Bakes the transform of this group at some keyframe.
+     * @param parent baked transform of the parent bone
+     * @param keyframe keyframe
+     * @param movement computed model-space movement
+     * @return baked transform or null if it exceeds the memory limit
+     */
+    @ApiStatus.Internal
+    public @Nullable BakedTransform bake(@NotNull BakedTransform parent, @NotNull AnimationMovement keyframe, @NotNull BoneMovement movement) {
+        if (!BakedTransform.reserve()) return null;
+        var baked = new BakedTransform(movement);
+        var previous = bakedTransforms.computeIfAbsent(parent, p -> new ConcurrentHashMap<>()).putIfAbsent(keyframe, baked);
+        if (previous == null) return baked;
+        BakedTransform.release();
+        return previous;
+    }
+
     /**
      * Gets display item.
      * @return item
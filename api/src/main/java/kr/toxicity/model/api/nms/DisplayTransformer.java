@@ -6,6 +6,7 @@
  */
 package kr.toxicity.model.api.nms;
 
+import kr.toxicity.model.api.config.TransformThresholdConfig;
 import org.jetbrains.annotations.NotNull;
 import org.joml.Quaternionf;
 import org.joml.Vector3f;
@@ -32,6 +33,26 @@ public interface DisplayTransformer {
      */
     void transform(int duration, @NotNull Vector3f position, @NotNull Vector3f scale, @NotNull Quaternionf rotation, @NotNull PacketBundler bundler);
 
+    /**
+     * Applies a transformation to the display.
+     * <p>
+     * Changes smaller than the threshold since the last sent value are ignored unless forced.
+     * The default implementation ignores the threshold and always applies the transformation.
+     * </p>
+     *
+     * @param duration the interpolation duration in ticks
+     * @param position the target position
+     * @param scale the target scale
+     * @param rotation the target rotation
+     * @param threshold the per-field threshold
+     * @param force whether to ignore the threshold
+     * @param bundler the packet bundler to use
+     * @since 1.15.2
+     */
+    default void transform(int duration, @NotNull Vector3f position, @NotNull Vector3f scale, @NotNull Quaternionf rotation, @NotNull TransformThresholdConfig.Threshold threshold, boolean force, @NotNull PacketBundler bundler) {
+        transform(duration, position, scale, rotation, bundler);
+    }
+
     /**
      * Sends the current transformation state to clients.
      *
@@ -39,4 +60,18 @@ public interface DisplayTransformer {
      * @since 1.15.2
      */
     void sendTransformation(@NotNull PacketBundler bundler);
+
+    /**
+     * Sends the current transformation state to clients with another interpolation duration.
+     * <p>
+     * The default implementation sends it with the current interpolation duration.
+     * </p>
+     *
+     * @param duration the interpolation duration in ticks
+     * @param bundler the packet bundler to use
+     * @since 1.15.2
+     */
+    default void sendTransformation(int duration, @NotNull PacketBundler bundler) {
+        sendTransformation(bundler);
+    }
 }
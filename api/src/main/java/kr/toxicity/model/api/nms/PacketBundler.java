@@ -9,6 +9,8 @@ package kr.toxicity.model.api.nms;
 import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+
 /**
  * Collects multiple packets to be sent together to a player.
  * <p>
@@ -64,4 +66,20 @@ public interface PacketBundler {
      * @since 1.15.2
      */
     void send(@NotNull Player player, @NotNull Runnable onSuccess);
+
+    /**
+     * Sends all collected packets to every specified player.
+     * <p>
+     * The packets are identical for every player, so implementations may encode them only once
+     * and write the same encoded bytes to each player's connection.
+     * </p>
+     *
+     * @param players the target players
+     * @since 1.15.2
+     */
+    default void send(@NotNull Collection<Player> players) {
+        for (Player player : players) {
+            send(player);
+        }
+    }
 }
@@ -0,0 +1,108 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.profiler;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free latency histogram with power-of-two nanosecond buckets.
+ * <p>
+ * Percentiles are reported as the upper bound of the bucket they fall in,
+ * so they are accurate within a factor of two.
+ * </p>
+ *
+ * @since 1.15.2
+ */
+public final class LatencyHistogram {
+
+    private static final int BUCKETS = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos the latency in nanoseconds
+     * @since 1.15.2
+     */
+    public void record(long nanos) {
+        var value = Math.max(nanos, 0);
+        buckets.incrementAndGet(Math.min(Long.SIZE - Long.numberOfLeadingZeros(value), BUCKETS - 1));
+        count.increment();
+        sum.add(value);
+        long previous;
+        while (value > (previous = max.get()) && !max.compareAndSet(previous, value));
+    }
+
+    /**
+     * Clears all recorded latencies.
+     *
+     * @since 1.15.2
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    /**
+     * Takes a snapshot of this histogram.
+     *
+     * @return the snapshot
+     * @since 1.15.2
+     */
+    public @NotNull Snapshot snapshot() {
+        var copy = new long[BUCKETS];
+        var total = 0L;
+        for (int i = 0; i < BUCKETS; i++) {
+            total += copy[i] = buckets.get(i);
+        }
+        return new Snapshot(
+            total,
+            total == 0 ? 0 : (double) sum.sum() / total,
+            percentile(copy, total, 0.5),
+            percentile(copy, total, 0.95),
+            percentile(copy, total, 0.99),
+            max.get()
+        );
+    }
+
+    private static long percentile(long[] buckets, long total, double percentile) {
+        if (total == 0) return 0;
+        var target = (long) Math.ceil(total * percentile);
+        var accumulated = 0L;
+        for (int i = 0; i < buckets.length; i++) {
+            accumulated += buckets[i];
+            if (accumulated >= target) return 1L << i;
+        }
+        return 1L << (buckets.length - 1);
+    }
+
+    /**
+     * A snapshot of latency histogram.
+     *
+     * @param count the number of recorded latencies
+     * @param mean the mean latency in nanoseconds
+     * @param p50 the 50th percentile latency in nanoseconds
+     * @param p95 the 95th percentile latency in nanoseconds
+     * @param p99 the 99th percentile latency in nanoseconds
+     * @param max the max latency in nanoseconds
+     * @since 1.15.2
+     */
+    public record Snapshot(long count, double mean, long p50, long p95, long p99, long max) {
+    }
+}
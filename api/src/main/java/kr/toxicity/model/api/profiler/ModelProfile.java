@@ -0,0 +1,108 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.profiler;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live profiled data of one model.
+ *
+ * @since 1.15.2
+ */
+@ApiStatus.Internal
+public final class ModelProfile {
+
+    private static final ModelProfiler.Phase[] PHASES = ModelProfiler.Phase.values();
+
+    private final String name;
+    private final LatencyHistogram[] histograms = new LatencyHistogram[PHASES.length];
+    private final LongAdder packets = new LongAdder();
+    private final LongAdder ikSolves = new LongAdder();
+    private final LongAdder ikSkips = new LongAdder();
+    private final LongAdder ikIterations = new LongAdder();
+    private volatile int bones;
+    private volatile int viewers;
+
+    ModelProfile(@NotNull String name) {
+        this.name = name;
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records a latency of some phase.
+     *
+     * @param phase the phase
+     * @param nanos the latency in nanoseconds
+     * @since 1.15.2
+     */
+    public void record(@NotNull ModelProfiler.Phase phase, long nanos) {
+        histograms[phase.ordinal()].record(nanos);
+    }
+
+    /**
+     * Records the state of a finished tracker frame.
+     *
+     * @param bones the bone count
+     * @param viewers the viewer count
+     * @param packets the number of emitted packets
+     * @since 1.15.2
+     */
+    public void frame(int bones, int viewers, int packets) {
+        this.bones = bones;
+        this.viewers = viewers;
+        this.packets.add(packets);
+    }
+
+    /**
+     * Records the result of an IK solve.
+     *
+     * @param solved the number of solved chains
+     * @param skipped the number of chains skipped because nothing moved
+     * @param iterations the total number of FABRIK iterations
+     * @since 1.15.2
+     */
+    public void ik(int solved, int skipped, int iterations) {
+        if (solved > 0) ikSolves.add(solved);
+        if (skipped > 0) ikSkips.add(skipped);
+        if (iterations > 0) ikIterations.add(iterations);
+    }
+
+    void reset() {
+        for (LatencyHistogram histogram : histograms) {
+            histogram.reset();
+        }
+        packets.reset();
+        ikSolves.reset();
+        ikSkips.reset();
+        ikIterations.reset();
+    }
+
+    @NotNull ModelStatistics snapshot() {
+        var latencies = new EnumMap<ModelProfiler.Phase, LatencyHistogram.Snapshot>(ModelProfiler.Phase.class);
+        for (ModelProfiler.Phase phase : PHASES) {
+            latencies.put(phase, histograms[phase.ordinal()].snapshot());
+        }
+        return new ModelStatistics(
+            name,
+            latencies.get(ModelProfiler.Phase.FRAME).count(),
+            Collections.unmodifiableMap(latencies),
+            bones,
+            viewers,
+            packets.sum(),
+            ikSolves.sum(),
+            ikSkips.sum(),
+            ikIterations.sum()
+        );
+    }
+}
@@ -0,0 +1,180 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.profiler;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Profiles tracker frames of each model.
+ * <p>
+ * The profiler is disabled by default. While disabled, instrumented code only reads a single volatile flag.
+ * </p>
+ *
+ * @since 1.15.2
+ */
+public final class ModelProfiler {
+
+    /**
+     * The shared profiler instance.
+     * @since 1.15.2
+     */
+    @ApiStatus.Internal
+    public static final ModelProfiler INSTANCE = new ModelProfiler();
+
+    private final Map<String, ModelProfile> profiles = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+    private volatile long startNanos = System.nanoTime();
+
+    private ModelProfiler() {
+    }
+
+    /**
+     * Checks if this profiler is enabled.
+     *
+     * @return true if enabled
+     * @since 1.15.2
+     */
+    public boolean enabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables this profiler.
+     *
+     * @param enabled whether to enable
+     * @since 1.15.2
+     */
+    public void enabled(boolean enabled) {
+        if (this.enabled == enabled) return;
+        if (enabled) reset();
+        this.enabled = enabled;
+    }
+
+    /**
+     * Clears all profiled data.
+     *
+     * @since 1.15.2
+     */
+    public void reset() {
+        profiles.values().forEach(ModelProfile::reset);
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Returns the time elapsed since the last reset.
+     *
+     * @return the elapsed time in nanoseconds
+     * @since 1.15.2
+     */
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    /**
+     * Takes a snapshot of all profiled models, sorted by total frame time in descending order.
+     *
+     * @return the statistics of each model
+     * @since 1.15.2
+     */
+    public @NotNull @Unmodifiable List<ModelStatistics> statistics() {
+        return profiles.values()
+            .stream()
+            .map(ModelProfile::snapshot)
+            .filter(statistics -> statistics.frames() > 0)
+            .sorted(Comparator.comparingDouble(ModelStatistics::totalNanos).reversed())
+            .toList();
+    }
+
+    /**
+     * Gets the live profile of some model.
+     *
+     * @param name the model name
+     * @return the profile, or null if this profiler is disabled
+     * @since 1.15.2
+     */
+    @ApiStatus.Internal
+    public @Nullable ModelProfile profile(@NotNull String name) {
+        return enabled ? profiles.computeIfAbsent(name, ModelProfile::new) : null;
+    }
+
+    /**
+     * Starts measuring a phase.
+     *
+     * @param profile the profile
+     * @return the current time, or 0 if the profile is null
+     * @since 1.15.2
+     */
+    @ApiStatus.Internal
+    public static long start(@Nullable ModelProfile profile) {
+        return profile != null ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time elapsed since the given start time.
+     *
+     * @param profile the profile
+     * @param phase the phase
+     * @param start the start time
+     * @return the current time, used as the start time of the next phase
+     * @since 1.15.2
+     */
+    @ApiStatus.Internal
+    public static long record(@Nullable ModelProfile profile, @NotNull Phase phase, long start) {
+        if (profile == null) return 0;
+        var now = System.nanoTime();
+        profile.record(phase, now - start);
+        return now;
+    }
+
+    /**
+     * Profiled phase of a tracker frame
+     *
+     * @since 1.15.2
+     */
+    public enum Phase {
+        /**
+         * Whole tracker frame
+         */
+        FRAME,
+        /**
+         * Animation state ticking of every bone
+         */
+        ANIMATION,
+        /**
+         * Inverse kinematics solving
+         */
+        IK,
+        /**
+         * Transformation packet building
+         */
+        TRANSFORMATION,
+        /**
+         * Sending bundled packets
+         */
+        SEND,
+        /**
+         * Animation state ticking of per-player states
+         */
+        PLAYER_ANIMATION,
+        /**
+         * Inverse kinematics solving of per-player states
+         */
+        PLAYER_IK,
+        /**
+         * Transformation packet building of per-player states
+         */
+        PLAYER_TRANSFORMATION
+    }
+}
@@ -0,0 +1,60 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.profiler;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Unmodifiable;
+
+import java.util.Map;
+
+/**
+ * A snapshot of profiled statistics of one model.
+ *
+ * @param name the model name
+ * @param frames the number of profiled tracker frames
+ * @param latencies the latency of each phase
+ * @param bones the bone count of the last profiled tracker
+ * @param viewers the viewer count of the last profiled tracker
+ * @param packets the total number of emitted packets
+ * @param ikSolves the total number of solved IK chains
+ * @param ikSkips the total number of IK chains skipped because nothing moved
+ * @param ikIterations the total number of FABRIK iterations
+ * @since 1.15.2
+ */
+public record ModelStatistics(
+    @NotNull String name,
+    long frames,
+    @NotNull @Unmodifiable Map<ModelProfiler.Phase, LatencyHistogram.Snapshot> latencies,
+    int bones,
+    int viewers,
+    long packets,
+    long ikSolves,
+    long ikSkips,
+    long ikIterations
+) {
+    /**
+     * Gets the latency of some phase.
+     *
+     * @param phase the phase
+     * @return the latency snapshot
+     * @since 1.15.2
+     */
+    public @NotNull LatencyHistogram.Snapshot latency(@NotNull ModelProfiler.Phase phase) {
+        return latencies.get(phase);
+    }
+
+    /**
+     * Gets the total time spent in tracker frames of this model.
+     *
+     * @return the total time in nanoseconds
+     * @since 1.15.2
+     */
+    public double totalNanos() {
+        var frame = latency(ModelProfiler.Phase.FRAME);
+        return frame.mean() * frame.count();
+    }
+}
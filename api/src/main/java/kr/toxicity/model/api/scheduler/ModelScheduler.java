@@ -6,7 +6,9 @@
  */
 package kr.toxicity.model.api.scheduler;
 
+import kr.toxicity.model.api.entity.BaseBukkitEntity;
 import kr.toxicity.model.api.entity.BaseEntity;
+import kr.toxicity.model.api.util.ThreadUtil;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
 import org.jetbrains.annotations.NotNull;
@@ -38,6 +40,18 @@ public interface ModelScheduler {
         return taskLater(entity.getLocation(), delay, runnable);
     }
 
+    /**
+     * Runs entity sync timer task
+     * @param entity entity
+     * @param delay delay
+     * @param period period
+     * @param runnable task
+     * @return scheduled task
+     */
+    default @Nullable ModelTask taskTimer(@NotNull Entity entity, long delay, long period, @NotNull Runnable runnable) {
+        return taskTimer(entity.getLocation(), delay, period, runnable);
+    }
+
     /**
      * Runs entity sync task
      * @param entity entity
@@ -48,6 +62,18 @@ public interface ModelScheduler {
         return task(entity.location(), runnable);
     }
 
+    /**
+     * Runs entity sync timer task
+     * @param entity entity
+     * @param delay delay
+     * @param period period
+     * @param runnable task
+     * @return scheduled task
+     */
+    default @Nullable ModelTask taskTimer(@NotNull BaseEntity entity, long delay, long period, @NotNull Runnable runnable) {
+        return entity instanceof BaseBukkitEntity bukkitEntity ? taskTimer(bukkitEntity.entity(), delay, period, runnable) : taskTimer(entity.location(), delay, period, runnable);
+    }
+
     /**
      * Runs entity sync task
      * @param entity entity
@@ -76,6 +102,38 @@ public interface ModelScheduler {
      */
     @Nullable ModelTask taskLater(@NotNull Location location, long delay, @NotNull Runnable runnable);
 
+    /**
+     * Runs location sync timer task.
+     * The default implementation doesn't support sync timer tasks and returns null,
+     * so region-affine trackers fall back to the tracker worker threads.
+     * @param location location
+     * @param delay delay
+     * @param period period
+     * @param runnable task
+     * @return scheduled task or null if not supported
+     */
+    default @Nullable ModelTask taskTimer(@NotNull Location location, long delay, long period, @NotNull Runnable runnable) {
+        return null;
+    }
+
+    /**
+     * Checks current thread owns this location
+     * @param location location
+     * @return owned by current thread
+     */
+    default boolean isOwnedByCurrentThread(@NotNull Location location) {
+        return ThreadUtil.isTickThread();
+    }
+
+    /**
+     * Checks current thread owns this entity
+     * @param entity entity
+     * @return owned by current thread
+     */
+    default boolean isOwnedByCurrentThread(@NotNull BaseEntity entity) {
+        return ThreadUtil.isTickThread();
+    }
+
     /**
      * Runs async task
      * @param runnable task
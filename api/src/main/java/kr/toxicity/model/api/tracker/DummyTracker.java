@@ -6,6 +6,7 @@
  */
 package kr.toxicity.model.api.tracker;
 
+import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.animation.AnimationModifier;
 import kr.toxicity.model.api.data.renderer.RenderPipeline;
 import kr.toxicity.model.api.event.CreateDummyTrackerEvent;
@@ -58,7 +59,9 @@ public final class DummyTracker extends Tracker {
         Objects.requireNonNull(location, "location");
         if (this.location.equals(location)) return;
         synchronized (this) {
+            var previous = this.location;
             this.location = location;
+            if (BetterModel.IS_FOLIA && (previous.getWorld() != location.getWorld() || previous.getBlockX() >> 4 != location.getBlockX() >> 4 || previous.getBlockZ() >> 4 != location.getBlockZ() >> 4)) rebindRegion();
             var bundler = pipeline.createBundler();
             pipeline.iterateTree(b -> b.teleport(location, bundler));
             if (bundler.isNotEmpty()) pipeline.allPlayer().forEach(bundler::send);
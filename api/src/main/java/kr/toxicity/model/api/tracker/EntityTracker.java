@@ -19,6 +19,7 @@ import kr.toxicity.model.api.event.DismountModelEvent;
 import kr.toxicity.model.api.event.MountModelEvent;
 import kr.toxicity.model.api.nms.HitBox;
 import kr.toxicity.model.api.nms.HitBoxListener;
+import kr.toxicity.model.api.scheduler.ModelTask;
 import kr.toxicity.model.api.util.EventUtil;
 import kr.toxicity.model.api.util.FunctionUtil;
 import kr.toxicity.model.api.util.MathUtil;
@@ -169,10 +170,12 @@ public class EntityTracker extends Tracker {
      * @since 1.15.2
      */
     public void updateBaseEntity() {
-        BetterModel.plugin().scheduler().asyncTaskLater(1, () -> {
+        Runnable runnable = () -> {
             updateBaseEntity0();
             forceUpdate(true);
-        });
+        };
+        if (isRegionAffine()) task(runnable);
+        else BetterModel.plugin().scheduler().asyncTaskLater(1, runnable);
     }
 
     /**
@@ -292,7 +295,23 @@ public class EntityTracker extends Tracker {
     @ApiStatus.Internal
     public void refresh() {
         updateBaseEntity0();
-        BetterModel.plugin().scheduler().task(registry.entity(), () -> createHitBox(null, HITBOX_REFRESH_PREDICATE));
+        runSync(() -> createHitBox(null, HITBOX_REFRESH_PREDICATE));
+    }
+
+    @Override
+    protected boolean isOwnedByCurrentThread() {
+        return BetterModel.plugin().scheduler().isOwnedByCurrentThread(registry.entity());
+    }
+
+    @Override
+    protected void runSync(@NotNull Runnable runnable) {
+        if (isOwnedByCurrentThread()) runnable.run();
+        else BetterModel.plugin().scheduler().task(registry.entity(), runnable);
+    }
+
+    @Override
+    protected @Nullable ModelTask scheduleRegionTask(@NotNull Runnable runnable) {
+        return BetterModel.plugin().scheduler().taskTimer(registry.entity(), 1, 1, runnable);
     }
 
     /**
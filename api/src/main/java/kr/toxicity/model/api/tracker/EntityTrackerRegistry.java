@@ -445,9 +445,10 @@ public final class EntityTrackerRegistry {
     }
 
     private void runSync(@NotNull Runnable runnable) {
-        if (ThreadUtil.isTickThread()) {
+        var scheduler = BetterModel.plugin().scheduler();
+        if (scheduler.isOwnedByCurrentThread(entity)) {
             runnable.run();
-        } else BetterModel.plugin().scheduler().task(entity.location(), runnable);
+        } else scheduler.task(entity, runnable);
     }
 
     /**
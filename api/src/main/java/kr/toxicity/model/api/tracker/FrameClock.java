@@ -0,0 +1,78 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A monotonic frame clock shared by every tracker.
+ * <p>
+ * The current frame is published by the worker threads of {@link TrackerScheduler} once per frame,
+ * so reading it costs a single volatile read instead of a system clock call.
+ * Every reader in the same frame observes the same value.
+ * </p>
+ *
+ * @since 1.15.2
+ */
+@ApiStatus.Internal
+public final class FrameClock {
+
+    private static final long ORIGIN = System.nanoTime();
+    private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(Tracker.TRACKER_TICK_INTERVAL);
+    private static final AtomicLong FRAME = new AtomicLong();
+
+    static {
+        //Frames are published by the scheduler threads, so make sure they are running.
+        TrackerScheduler.INSTANCE.shardCount();
+    }
+
+    /**
+     * No initializer
+     */
+    private FrameClock() {
+        throw new RuntimeException();
+    }
+
+    /**
+     * Gets the current frame.
+     *
+     * @return the number of frames elapsed since the clock started
+     * @since 1.15.2
+     */
+    public static long frame() {
+        return FRAME.get();
+    }
+
+    /**
+     * Gets the current time of this clock, quantized by frame.
+     *
+     * @return the time in milliseconds since the clock started
+     * @since 1.15.2
+     */
+    public static long millis() {
+        return frame() * Tracker.TRACKER_TICK_INTERVAL;
+    }
+
+    /**
+     * Converts milliseconds to frames, rounding up.
+     *
+     * @param millis the time in milliseconds
+     * @return the number of frames
+     * @since 1.15.2
+     */
+    public static long frames(long millis) {
+        return Math.ceilDiv(millis, Tracker.TRACKER_TICK_INTERVAL);
+    }
+
+    static void advance() {
+        var frame = (System.nanoTime() - ORIGIN) / FRAME_NANOS;
+        if (frame > FRAME.get()) FRAME.accumulateAndGet(frame, Math::max);
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.util.LogUtil;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports virtual threads of tracker frames pinned to their carrier thread.
+ * <p>
+ * A frame which blocks inside a {@code synchronized} block (e.g. starting or shutting down a tracker, or updating a {@link kr.toxicity.model.api.bone.RenderedBone})
+ * holds its carrier thread, so the benefit of virtual threads is lost.
+ * Each pinning site is logged once, and every pinning is counted.
+ * </p>
+ */
+final class PinningMonitor {
+
+    private static final String EVENT_NAME = "jdk.VirtualThreadPinned";
+    private static final int MAX_FRAMES = 8;
+
+    private final String threadPrefix;
+    private final LongAdder pinnedFrames = new LongAdder();
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private final RecordingStream stream;
+
+    PinningMonitor(@NotNull String threadPrefix, long thresholdMillis) {
+        this.threadPrefix = threadPrefix;
+        RecordingStream stream = null;
+        try {
+            stream = new RecordingStream();
+            stream.enable(EVENT_NAME)
+                .withThreshold(Duration.ofMillis(thresholdMillis))
+                .withStackTrace();
+            stream.onEvent(EVENT_NAME, this::report);
+            stream.startAsync();
+        } catch (Throwable throwable) {
+            if (stream != null) stream.close();
+            stream = null;
+            LogUtil.handleException("Unable to start virtual thread pinning detection.", throwable);
+        }
+        this.stream = stream;
+    }
+
+    //The count is kept after closing, so it can be still read.
+    void close() {
+        if (stream != null) stream.close();
+    }
+
+    long pinnedFrames() {
+        return pinnedFrames.sum();
+    }
+
+    private void report(@NotNull RecordedEvent event) {
+        var thread = event.getThread();
+        if (thread == null || thread.getJavaName() == null || !thread.getJavaName().startsWith(threadPrefix)) return;
+        pinnedFrames.increment();
+        var stackTrace = event.getStackTrace();
+        var frames = stackTrace != null ? stackTrace.getFrames() : List.<RecordedFrame>of();
+        var site = frames.isEmpty() ? "unknown" : toString(frames.getFirst());
+        if (!reportedSites.add(site)) return;
+        var list = new ArrayList<Component>();
+        list.add(Component.text("A tracker frame has been pinned to its carrier thread for " + event.getDuration().toMillis() + " ms."));
+        list.add(LogUtil.toLog("Avoid blocking inside synchronized blocks of tracker handlers.", NamedTextColor.YELLOW));
+        for (int i = 0; i < Math.min(frames.size(), MAX_FRAMES); i++) {
+            list.add(LogUtil.toLog("at " + toString(frames.get(i)), NamedTextColor.RED));
+        }
+        BetterModel.plugin().logger().warn(list.toArray(Component[]::new));
+    }
+
+    private static @NotNull String toString(@NotNull RecordedFrame frame) {
+        var method = frame.getMethod();
+        return method.getType().getName() + "." + method.getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -6,6 +6,7 @@
  */
 package kr.toxicity.model.api.tracker;
 
+import it.unimi.dsi.fastutil.HashCommon;
 import kr.toxicity.model.api.BetterModel;
 import kr.toxicity.model.api.animation.*;
 import kr.toxicity.model.api.bone.BoneName;
@@ -19,6 +20,8 @@ import kr.toxicity.model.api.data.renderer.RenderSource;
 import kr.toxicity.model.api.entity.BaseEntity;
 import kr.toxicity.model.api.event.*;
 import kr.toxicity.model.api.nms.*;
+import kr.toxicity.model.api.profiler.ModelProfiler;
+import kr.toxicity.model.api.scheduler.ModelTask;
 import kr.toxicity.model.api.script.TimeScript;
 import kr.toxicity.model.api.util.EntityUtil;
 import kr.toxicity.model.api.util.EventUtil;
@@ -55,19 +58,6 @@ import java.util.stream.Stream;
  */
 public abstract class Tracker implements AutoCloseable {
 
-    private static final ScheduledExecutorService EXECUTOR = Executors.newScheduledThreadPool(Runtime.getRuntime().availableProcessors() * 2, new ThreadFactory() {
-
-        private final AtomicInteger integer = new AtomicInteger();
-
-        @Override
-        public Thread newThread(@NotNull Runnable r) {
-            var thread = new Thread(r);
-            thread.setDaemon(true);
-            thread.setName("BetterModel-Worker-" + integer.getAndIncrement());
-            thread.setUncaughtExceptionHandler((t, e) -> LogUtil.handleException("Exception has occurred in " + t.getName(), e));
-            return thread;
-        }
-    });
     /**
      * The interval in milliseconds between tracker ticks.
      * @since 1.15.2
@@ -82,6 +72,9 @@ public abstract class Tracker implements AutoCloseable {
     @Getter
     protected final RenderPipeline pipeline;
     private long frame = 0;
+    private long previousFrame = -1;
+    private final int phase;
+    private int elapsedFrames = 1;
     private final Queue<Runnable> queuedTask = new ConcurrentLinkedQueue<>();
     private final AtomicBoolean tickPause = new AtomicBoolean();
     private final AtomicBoolean isClosed = new AtomicBoolean();
@@ -95,21 +88,24 @@ public abstract class Tracker implements AutoCloseable {
         (b, a) -> {
             if (b == null) return;
             if (b.isSync()) {
-                BetterModel.plugin().scheduler().task(location(), () -> b.accept(this));
+                runSync(() -> b.accept(this));
             } else b.accept(this);
         }
     );
-    private volatile ScheduledFuture<?> task;
+    private volatile TrackerScheduler.Handle task;
+    private volatile ModelTask viewerSampler;
     protected ModelRotator rotator = ModelRotator.YAW;
     protected ModelScaler scaler = ModelScaler.entity();
     private Supplier<ModelRotation> rotationSupplier = () -> ModelRotation.EMPTY;
     private BiConsumer<Tracker, CloseReason> closeEventHandler = (t, r) -> EventUtil.call(new CloseTrackerEvent(t, r));
 
+    private int animationStep;
+    private int sleepFrames;
+    private volatile boolean lowPriority = this instanceof DummyTracker;
+    private final AtomicBoolean wakeUp = new AtomicBoolean();
+
     private ScheduledPacketHandler handler = (t, s) -> {
-        if (!tickPause.get()) {
-            scriptProcessor.tick();
-            t.pipeline.tick(s.getViewBundler());
-        }
+        if (!tickPause.get()) t.tickAnimation(s);
     };
     private BiConsumer<Tracker, Player> perPlayerHandler = null;
 
@@ -123,15 +119,27 @@ public abstract class Tracker implements AutoCloseable {
     public Tracker(@NotNull RenderPipeline pipeline, @NotNull TrackerModifier modifier) {
         this.pipeline = pipeline;
         this.modifier = modifier;
+        phase = Math.floorMod(HashCommon.mix(31 * (pipeline.getSource() instanceof RenderSource.Entity entity
+            ? entity.entity().uuid().hashCode()
+            : pipeline.getSource().location().hashCode()) + name().hashCode()), MINECRAFT_TICK_MULTIPLIER);
         bundlerSet = new BundlerSet();
         updater = () -> {
+            var profile = ModelProfiler.INSTANCE.profile(name());
+            var start = ModelProfiler.start(profile);
             try {
-                if (frame % MINECRAFT_TICK_MULTIPLIER == 0) {
+                if (passed(MINECRAFT_TICK_MULTIPLIER)) {
                     Runnable task;
                     while ((task = queuedTask.poll()) != null) task.run();
                 }
                 handler.handle(this, bundlerSet);
-                bundlerSet.send();
+                if (profile != null) {
+                    var packets = bundlerSet.size();
+                    var sendStart = ModelProfiler.start(profile);
+                    bundlerSet.send();
+                    ModelProfiler.record(profile, ModelProfiler.Phase.SEND, sendStart);
+                    profile.frame(pipeline.bones().size(), pipeline.playerCount(), packets);
+                    ModelProfiler.record(profile, ModelProfiler.Phase.FRAME, start);
+                } else bundlerSet.send();
             } catch (Throwable throwable) {
                 LogUtil.handleException("Ticking this tracker has been failed: " + name(), throwable);
             }
@@ -140,10 +148,16 @@ public abstract class Tracker implements AutoCloseable {
         frame((t, s) -> {
             if (readyForForceUpdate.compareAndSet(true, false)) t.pipeline.iterateTree(b -> b.dirtyUpdate(s.dataBundler));
         });
-        tick((t, s) -> pipeline.rotate(
-            t.rotation(),
-            s.tickBundler
-        ));
+        tick((t, s) -> {
+            if (pipeline.rotate(t.rotation(), s.tickBundler)) wakeUp();
+        });
+        tick((t, s) -> {
+            if (!BetterModel.IS_FOLIA || isRegionAffine()) pipeline.sampleViewers(location());
+            var distance = pipeline.closestViewerDistanceSquared();
+            pipeline.frameDivisor(BetterModel.config().lod().divisor(distance));
+            pipeline.viewerBands(BetterModel.config().viewerLod());
+            lowPriority = t instanceof DummyTracker || distance == Double.MAX_VALUE || pipeline.getFrameDivisor() > 1;
+        });
         tick((t, s) -> {
             var perPlayer = perPlayerHandler;
             if (perPlayer != null) pipeline.nonHidePlayer().forEach(p -> perPlayer.accept(t, p));
@@ -174,34 +188,164 @@ public abstract class Tracker implements AutoCloseable {
         return currentTask != null && !currentTask.isCancelled();
     }
 
+    /**
+     * Gets the tick phase of this tracker.
+     * Minecraft tick work of each tracker is offset by this phase to spread it across frames.
+     *
+     * @return phase in frames, less than {@link #MINECRAFT_TICK_MULTIPLIER}
+     * @since 1.15.2
+     */
+    public int phase() {
+        return phase;
+    }
+
+    /**
+     * Checks if the tracker's update task is bound to its owning region.
+     *
+     * @return true if region-affine, false otherwise
+     * @since 1.15.2
+     */
+    public boolean isRegionAffine() {
+        var currentTask = task;
+        return currentTask != null && !currentTask.isCancelled() && currentTask.isRegionAffine();
+    }
+
     private void start() {
         if (isScheduled()) return;
         synchronized (this) {
             if (isScheduled()) return;
             updater.run();
-            task = EXECUTOR.scheduleAtFixedRate(() -> {
-                if (playerCount() == 0 && !forRemoval.get()) {
-                    shutdown();
-                    return;
-                }
-                frame++;
-                updater.run();
-            }, TRACKER_TICK_INTERVAL, TRACKER_TICK_INTERVAL, TimeUnit.MILLISECONDS);
+            task = TrackerScheduler.INSTANCE.register(this);
+            bindViewerSampler();
             LogUtil.debug(DebugConfig.DebugOption.TRACKER, () -> getClass().getSimpleName() + " scheduler started: " + name());
         }
     }
 
+    void runFrame(int frames) {
+        if (playerCount() == 0 && !forRemoval.get()) {
+            shutdown();
+            return;
+        }
+        previousFrame = frame;
+        frame += frames;
+        elapsedFrames = frames;
+        updater.run();
+    }
+
+    /**
+     * Checks if the current thread owns this tracker's location.
+     *
+     * @return true if owned by the current thread
+     * @since 1.15.2
+     */
+    protected boolean isOwnedByCurrentThread() {
+        return BetterModel.plugin().scheduler().isOwnedByCurrentThread(location());
+    }
+
+    /**
+     * Runs a task on the thread which owns this tracker.
+     * <p>
+     * If the current thread already owns it (e.g., region-affine scheduling on Folia), the task runs immediately.
+     * </p>
+     *
+     * @param runnable the task to run
+     * @since 1.15.2
+     */
+    protected void runSync(@NotNull Runnable runnable) {
+        if (isOwnedByCurrentThread()) runnable.run();
+        else BetterModel.plugin().scheduler().task(location(), runnable);
+    }
+
+    private boolean passed(long period) {
+        return previousFrame < 0 || Math.floorDiv(frame + phase, period) != Math.floorDiv(previousFrame + phase, period);
+    }
+
+    /**
+     * Schedules this tracker's frame task on the region which owns this tracker.
+     * <p>
+     * This is used by the region-affine scheduling mode on Folia.
+     * </p>
+     *
+     * @param runnable the task to run every Minecraft tick
+     * @return the scheduled task, or null if it cannot be scheduled
+     * @since 1.15.2
+     */
+    protected @Nullable ModelTask scheduleRegionTask(@NotNull Runnable runnable) {
+        return BetterModel.plugin().scheduler().taskTimer(location(), 1, 1, runnable);
+    }
+
+    /**
+     * Re-binds this tracker's frame task to the region of its current location.
+     * <p>
+     * Trackers on Folia whose location is not bound to an entity must call this after moving to another region,
+     * so the region-affine frame task and the viewer sampling task follow them.
+     * </p>
+     *
+     * @since 1.15.2
+     */
+    protected void rebindRegion() {
+        var currentTask = task;
+        if (currentTask != null && !currentTask.isCancelled()) currentTask.rebindRegion();
+        synchronized (this) {
+            if (!isScheduled()) return;
+            unbindViewerSampler();
+            bindViewerSampler();
+        }
+    }
+
+    //Viewer locations must be read on the region thread on Folia, so trackers not running on it sample them in a region task.
+    private void bindViewerSampler() {
+        if (!BetterModel.IS_FOLIA || isRegionAffine()) return;
+        viewerSampler = scheduleRegionTask(() -> pipeline.sampleViewers(location()));
+    }
+
+    private void unbindViewerSampler() {
+        var sampler = viewerSampler;
+        if (sampler == null) return;
+        viewerSampler = null;
+        sampler.cancel();
+    }
+
+    boolean lowPriority() {
+        return lowPriority;
+    }
+
     private void shutdown() {
         if (!isScheduled()) return;
         synchronized (this) {
             if (!isScheduled()) return;
-            task.cancel(true);
+            task.cancel();
             task = null;
+            unbindViewerSampler();
             frame = 0;
+            previousFrame = -1;
             LogUtil.debug(DebugConfig.DebugOption.TRACKER, () -> getClass().getSimpleName() + " scheduler shutdown: " + name());
         }
     }
 
+    private void tickAnimation(@NotNull BundlerSet bundlerSet) {
+        var step = animationStep += elapsedFrames;
+        if (step < pipeline.getFrameDivisor()) return;
+        if (!wakeUp.getAndSet(false) && step < sleepFrames) return;
+        animationStep = 0;
+        scriptProcessor.tick(step, () -> {});
+        pipeline.tick(step, bundlerSet.getViewBundler());
+        sleepFrames = Math.min(scriptProcessor.idleFrames(), pipeline.idleFrames());
+    }
+
+    /**
+     * Wakes this tracker's animation from hibernation on the next frame.
+     * <p>
+     * A tracker whose bones have no pending keyframe change skips animation ticking until the nearest keyframe.
+     * Call this if some external state that affects the model's transformation has changed.
+     * </p>
+     *
+     * @since 1.15.2
+     */
+    public void wakeUp() {
+        wakeUp.set(true);
+    }
+
     /**
      * Returns the current rotation of the model.
      *
@@ -220,6 +364,7 @@ public abstract class Tracker implements AutoCloseable {
      */
     public final void rotation(@NotNull Supplier<ModelRotation> supplier) {
         this.rotationSupplier = Objects.requireNonNull(supplier);
+        wakeUp();
     }
 
     /**
@@ -260,6 +405,7 @@ public abstract class Tracker implements AutoCloseable {
      */
     public void task(@NotNull Runnable runnable) {
         queuedTask.add(Objects.requireNonNull(runnable));
+        wakeUp();
     }
 
     /**
@@ -313,7 +459,7 @@ public abstract class Tracker implements AutoCloseable {
         Objects.requireNonNull(handler);
         if (period <= 0) throw new RuntimeException("period cannot be <= 0");
         frame(period == 1 ? handler : (t, s) -> {
-            if (frame % period == 0) handler.handle(t, s);
+            if (passed(period)) handler.handle(t, s);
         });
     }
 
@@ -592,7 +738,9 @@ public abstract class Tracker implements AutoCloseable {
     public boolean animate(@NotNull Predicate<RenderedBone> filter, @NotNull BlueprintAnimation animation, @NotNull AnimationModifier modifier, @NotNull AnimationEventHandler eventHandler) {
         var script = animation.script(modifier);
         if (script != null) scriptProcessor.addAnimation(animation.name(), script.iterator(modifier), modifier, AnimationEventHandler.start());
-        return pipeline.matchTree(AnimationPredicate.of(filter), (b, a) -> b.addAnimation(a, animation, modifier, eventHandler));
+        var result = pipeline.matchTree(AnimationPredicate.of(filter), (b, a) -> b.addAnimation(a, animation, modifier, eventHandler));
+        wakeUp();
+        return result;
     }
 
     /**
@@ -629,7 +777,9 @@ public abstract class Tracker implements AutoCloseable {
      */
     public boolean stopAnimation(@NotNull Predicate<RenderedBone> filter, @NotNull String animation, @Nullable Player player) {
         var script = scriptProcessor.stopAnimation(animation);
-        return pipeline.matchTree(b -> b.stopAnimation(filter, animation, player)) || script;
+        var result = pipeline.matchTree(b -> b.stopAnimation(filter, animation, player));
+        wakeUp();
+        return result || script;
     }
 
     /**
@@ -674,7 +824,9 @@ public abstract class Tracker implements AutoCloseable {
     public boolean replace(@NotNull Predicate<RenderedBone> filter, @NotNull String target, @NotNull BlueprintAnimation animation, @NotNull AnimationModifier modifier) {
         var script = animation.script(modifier);
         if (script != null) scriptProcessor.replaceAnimation(target, script.iterator(modifier), modifier);
-        return pipeline.matchTree(AnimationPredicate.of(filter), (b, a) -> b.replaceAnimation(a, target, animation, modifier));
+        var result = pipeline.matchTree(AnimationPredicate.of(filter), (b, a) -> b.replaceAnimation(a, target, animation, modifier));
+        wakeUp();
+        return result;
     }
 
     //--- Update action ---
@@ -773,7 +925,9 @@ public abstract class Tracker implements AutoCloseable {
      * @since 1.15.2
      */
     public boolean tryUpdate(@NotNull BiPredicate<RenderedBone, BonePredicate> action, @NotNull BonePredicate predicate) {
-        return pipeline.matchTree(predicate, action);
+        if (!pipeline.matchTree(predicate, action)) return false;
+        wakeUp();
+        return true;
     }
 
     /**
@@ -806,6 +960,8 @@ public abstract class Tracker implements AutoCloseable {
      * @since 1.15.2
      */
     public @Nullable RenderedBone bone(@NotNull Predicate<RenderedBone> predicate) {
+        if (predicate instanceof BonePredicate bonePredicate) return pipeline.firstBone(bonePredicate);
+        if (predicate instanceof BonePredicate.Builder builder && builder.cacheable()) return pipeline.firstBone(builder.notSet());
         return bones().stream()
             .filter(predicate)
             .findFirst()
@@ -1000,23 +1156,32 @@ public abstract class Tracker implements AutoCloseable {
             perPlayerSend();
         }
 
+        private int size() {
+            var size = tickBundler.size() + dataBundler.size() + viewBundler.size();
+            for (PerPlayerCache cache : perPlayerViewBundler.values()) {
+                size += cache.bundler.size();
+            }
+            return size;
+        }
+
         private void perPlayerSend() {
-            perPlayerViewBundler.values().forEach(PerPlayerCache::send);
+            var step = elapsedFrames;
+            for (PerPlayerCache cache : perPlayerViewBundler.values()) {
+                cache.send(step);
+            }
         }
 
         private void globalSend() {
             if (tickBundler.isNotEmpty()) {
-                pipeline.allPlayer().forEach(tickBundler::send);
+                tickBundler.send(pipeline.allPlayer().toList());
                 tickBundler = pipeline.createBundler();
             }
             if (dataBundler.isNotEmpty()) {
-                pipeline.nonHidePlayer().forEach(dataBundler::send);
+                dataBundler.send(pipeline.nonHidePlayer().toList());
                 dataBundler = pipeline.createLazyBundler();
             }
-            if (viewBundler.isNotEmpty()) {
-                pipeline.viewedPlayer().filter(p -> !perPlayerViewBundler.containsKey(p.getUniqueId())).forEach(viewBundler::send);
-                viewBundler = pipeline.createParallelBundler();
-            }
+            pipeline.sendTransformation(viewBundler, Tracker.this::passed, perPlayerViewBundler::containsKey);
+            if (viewBundler.isNotEmpty()) viewBundler = pipeline.createParallelBundler();
         }
     }
 
@@ -1048,8 +1213,8 @@ public abstract class Tracker implements AutoCloseable {
             }
         }
 
-        private void send() {
-            if (pipeline.tick(uuid, bundler) && bundler.isNotEmpty()) {
+        private void send(int step) {
+            if (pipeline.tick(uuid, step, bundler) && bundler.isNotEmpty()) {
                 channel().ifPresent(handler -> bundler.send(handler.player()));
                 bundler = pipeline.createParallelBundler();
             }
@@ -0,0 +1,438 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.tracker;
+
+import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.config.SchedulerConfig;
+import kr.toxicity.model.api.scheduler.ModelTask;
+import kr.toxicity.model.api.util.LogUtil;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A sharded tick wheel that drives every scheduled {@link Tracker}.
+ * <p>
+ * The scheduler owns a fixed set of shard threads. Each shard keeps its own list of trackers
+ * and ticks all of them in a single loop per {@link Tracker#TRACKER_TICK_INTERVAL} frame,
+ * so the cost of scheduling does not grow with the number of active trackers.
+ * New trackers are assigned to the least loaded shard.
+ * </p>
+ * <p>
+ * Frames of each shard are staggered across the frame interval, so shards do not wake up at the same time.
+ * Minecraft tick work of each tracker is also offset by its own phase (see {@link Tracker#phase()}).
+ * </p>
+ * <p>
+ * Each shard enforces the per-frame budget of {@link kr.toxicity.model.api.config.SchedulerConfig}.
+ * Normal trackers always run first. Low-priority trackers run with the remaining budget,
+ * and the rest of them are deferred to the next frame.
+ * </p>
+ * <p>
+ * On Folia with region-affine scheduling enabled, trackers are not assigned to any shard.
+ * Each tracker runs every Minecraft tick on the region thread which owns it instead,
+ * so entity state can be accessed without hopping between threads.
+ * </p>
+ * <p>
+ * With the virtual execution mode, trackers are driven by a single dispatcher thread
+ * which submits each frame as a virtual thread task, so a blocking handler does not stall unrelated trackers.
+ * A frame is skipped while the previous frame of the same tracker is still running,
+ * and the skipped frames are caught up by the next run.
+ * </p>
+ * <p>
+ * The scheduler is shut down when the plugin is disabled, and it does not accept any tracker after that.
+ * </p>
+ *
+ * @since 1.15.2
+ */
+@ApiStatus.Internal
+public final class TrackerScheduler {
+
+    /**
+     * The shared scheduler instance.
+     * @since 1.15.2
+     */
+    public static final TrackerScheduler INSTANCE = new TrackerScheduler(Runtime.getRuntime().availableProcessors());
+
+    private static final long FRAME_NANOS = TimeUnit.MILLISECONDS.toNanos(Tracker.TRACKER_TICK_INTERVAL);
+    private static final String VIRTUAL_THREAD_PREFIX = "BetterModel-Frame-";
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 1000;
+
+    private final Shard[] shards;
+    private volatile Shard dispatcher;
+    private volatile PinningMonitor pinningMonitor;
+    private final LongAdder deferredFrames = new LongAdder();
+    private final LongAdder overloadedFrames = new LongAdder();
+    private volatile boolean shutdown;
+
+    private TrackerScheduler(int shardCount) {
+        shards = new Shard[Math.max(shardCount, 1)];
+        var start = System.nanoTime();
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard("BetterModel-Worker-" + i, start + FRAME_NANOS * i / shards.length, null);
+        }
+    }
+
+    /**
+     * Registers a tracker to the least loaded shard.
+     *
+     * @param tracker the tracker to run every frame
+     * @return the handle of the registered tracker
+     * @since 1.15.2
+     */
+    public @NotNull Handle register(@NotNull Tracker tracker) {
+        if (shutdown) throw new IllegalStateException("Tracker scheduler has been already shut down.");
+        var config = BetterModel.config().scheduler();
+        if (BetterModel.IS_FOLIA && config.regionAffine()) {
+            var handle = new Handle(null, tracker);
+            if (handle.bindRegion()) return handle;
+        }
+        var shard = config.executionMode() == SchedulerConfig.ExecutionMode.VIRTUAL ? dispatcher(config) : Arrays.stream(shards)
+            .min(Comparator.comparingInt(s -> s.load.get()))
+            .orElseThrow();
+        var handle = new Handle(shard, tracker);
+        shard.load.incrementAndGet();
+        shard.pending.add(handle);
+        return handle;
+    }
+
+    private @NotNull Shard dispatcher(@NotNull SchedulerConfig config) {
+        var shard = dispatcher;
+        if (shard == null) {
+            synchronized (this) {
+                shard = dispatcher;
+                if (shard == null) {
+                    if (shutdown) throw new IllegalStateException("Tracker scheduler has been already shut down.");
+                    if (config.pinningThreshold() > 0) pinningMonitor = new PinningMonitor(VIRTUAL_THREAD_PREFIX, config.pinningThreshold());
+                    dispatcher = shard = new Shard(
+                        "BetterModel-Dispatcher",
+                        System.nanoTime(),
+                        Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(VIRTUAL_THREAD_PREFIX, 0).factory())
+                    );
+                }
+            }
+        }
+        return shard;
+    }
+
+    /**
+     * Stops every shard thread, the virtual thread executor and the pinning detection.
+     * Running frames are given a short time to finish.
+     *
+     * @since 1.15.2
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (shutdown) return;
+            shutdown = true;
+        }
+        for (Shard shard : shards) {
+            shard.close();
+        }
+        var virtual = dispatcher;
+        if (virtual != null) virtual.close();
+        var monitor = pinningMonitor;
+        if (monitor != null) monitor.close();
+    }
+
+    /**
+     * Returns the number of shard threads.
+     *
+     * @return the shard count
+     * @since 1.15.2
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * Returns the number of trackers registered to each shard.
+     *
+     * @return the load of each shard
+     * @since 1.15.2
+     */
+    public int @NotNull [] loads() {
+        var loads = new int[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            loads[i] = shards[i].load.get();
+        }
+        return loads;
+    }
+
+    /**
+     * Returns the total number of tracker frames deferred due to the frame budget.
+     *
+     * @return the deferred frame count
+     * @since 1.15.2
+     */
+    public long deferredFrames() {
+        return deferredFrames.sum();
+    }
+
+    /**
+     * Returns the total number of shard frames which exceeded the frame budget.
+     *
+     * @return the overloaded frame count
+     * @since 1.15.2
+     */
+    public long overloadedFrames() {
+        return overloadedFrames.sum();
+    }
+
+    /**
+     * Returns the total number of tracker frames pinned to their carrier thread in the virtual execution mode.
+     *
+     * @return the pinned frame count, or 0 if pinning detection is disabled
+     * @since 1.15.2
+     */
+    public long pinnedFrames() {
+        var monitor = pinningMonitor;
+        return monitor != null ? monitor.pinnedFrames() : 0;
+    }
+
+    /**
+     * A registered tracker.
+     *
+     * @since 1.15.2
+     */
+    public static final class Handle {
+        private final Shard shard;
+        private final Tracker tracker;
+        private volatile ModelTask regionTask;
+        private volatile int regionGeneration;
+        private volatile boolean cancelled;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private boolean deferred;
+        private int missedFrames;
+        private volatile long lastNanos;
+
+        private Handle(@Nullable Shard shard, @NotNull Tracker tracker) {
+            this.shard = shard;
+            this.tracker = tracker;
+        }
+
+        /**
+         * Unregisters this tracker from its shard.
+         *
+         * @since 1.15.2
+         */
+        public void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            if (shard != null) shard.load.decrementAndGet();
+            var task = regionTask;
+            if (task != null) task.cancel();
+        }
+
+        /**
+         * Schedules the frame task on the region which owns the current location of the tracker.
+         * <p>
+         * A previous region task stops running as soon as the new one is bound,
+         * and both never run a frame at the same time.
+         * </p>
+         *
+         * @return true if scheduled
+         */
+        private synchronized boolean bindRegion() {
+            if (cancelled) return false;
+            var generation = ++regionGeneration;
+            var task = tracker.scheduleRegionTask(() -> {
+                if (cancelled || regionGeneration != generation || !running.compareAndSet(false, true)) return;
+                try {
+                    run(Tracker.MINECRAFT_TICK_MULTIPLIER);
+                } finally {
+                    running.set(false);
+                }
+            });
+            if (task == null) return false;
+            var previous = regionTask;
+            regionTask = task;
+            if (previous != null) previous.cancel();
+            if (cancelled) task.cancel();
+            return true;
+        }
+
+        /**
+         * Re-binds the frame task of a region-affine tracker to the region of its current location.
+         */
+        void rebindRegion() {
+            if (shard == null) bindRegion();
+        }
+
+        /**
+         * Checks if this tracker has been unregistered.
+         *
+         * @return true if cancelled
+         * @since 1.15.2
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Returns how long the last frame of this tracker took.
+         *
+         * @return the elapsed time in nanoseconds
+         * @since 1.15.2
+         */
+        public long lastFrameNanos() {
+            return lastNanos;
+        }
+
+        private boolean deferrable() {
+            return !deferred && tracker.lowPriority();
+        }
+
+        /**
+         * Checks if this tracker is bound to its owning region.
+         *
+         * @return true if region-affine
+         * @since 1.15.2
+         */
+        public boolean isRegionAffine() {
+            return shard == null;
+        }
+
+        private void run() {
+            var frames = missedFrames + 1;
+            missedFrames = 0;
+            run(frames);
+        }
+
+        private void run(int frames) {
+            deferred = false;
+            var start = System.nanoTime();
+            try {
+                tracker.runFrame(frames);
+            } catch (Throwable throwable) {
+                LogUtil.handleException("Ticking this tracker has been failed: " + tracker.name(), throwable);
+            }
+            lastNanos = System.nanoTime() - start;
+        }
+
+        //The deferred frame is counted into the next run, so both the animation and frame-gated tasks catch up
+        private void defer() {
+            deferred = true;
+            missedFrames++;
+        }
+
+        private boolean dispatch(@NotNull ExecutorService executor) {
+            if (!running.compareAndSet(false, true)) {
+                missedFrames++;
+                return false;
+            }
+            var frames = missedFrames + 1;
+            missedFrames = 0;
+            executor.execute(() -> {
+                try {
+                    run(frames);
+                } finally {
+                    running.set(false);
+                }
+            });
+            return true;
+        }
+    }
+
+    private final class Shard implements Runnable {
+        private final Queue<Handle> pending = new ConcurrentLinkedQueue<>();
+        private final List<Handle> handles = new ArrayList<>();
+        private final List<Handle> lowPriority = new ArrayList<>();
+        private final AtomicInteger load = new AtomicInteger();
+
+        private final long startNanos;
+        private final ExecutorService executor;
+        private final Thread thread;
+        private volatile boolean closed;
+
+        private Shard(@NotNull String name, long startNanos, @Nullable ExecutorService executor) {
+            this.startNanos = startNanos;
+            this.executor = executor;
+            thread = new Thread(this);
+            thread.setDaemon(true);
+            thread.setName(name);
+            thread.setUncaughtExceptionHandler((t, e) -> LogUtil.handleException("Exception has occurred in " + t.getName(), e));
+            thread.start();
+        }
+
+        @Override
+        public void run() {
+            var next = startNanos;
+            while (!closed) {
+                next += FRAME_NANOS;
+                tick();
+                var now = System.nanoTime();
+                if (now - next > FRAME_NANOS) next = now;
+                else while ((now = System.nanoTime()) < next) LockSupport.parkNanos(next - now);
+            }
+        }
+
+        //The thread stops before the executor, so no frame is dispatched to a shut down executor.
+        private void close() {
+            closed = true;
+            LockSupport.unpark(thread);
+            try {
+                thread.join(SHUTDOWN_TIMEOUT_MILLIS);
+                if (executor == null) return;
+                executor.shutdown();
+                if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) executor.shutdownNow();
+            } catch (InterruptedException e) {
+                if (executor != null) executor.shutdownNow();
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void tick() {
+            FrameClock.advance();
+            Handle handle;
+            while ((handle = pending.poll()) != null) {
+                if (!handle.cancelled) handles.add(handle);
+            }
+            if (handles.isEmpty()) return;
+            var start = System.nanoTime();
+            var budget = executor != null ? 0 : BetterModel.config().scheduler().frameBudgetNanos();
+            var i = 0;
+            while (i < handles.size()) {
+                var target = handles.get(i);
+                if (!target.cancelled) {
+                    if (budget > 0 && target.deferrable()) lowPriority.add(target);
+                    else if (executor == null) target.run();
+                    else if (!target.dispatch(executor)) deferredFrames.increment();
+                }
+                if (target.cancelled) {
+                    var last = handles.removeLast();
+                    if (last != target) handles.set(i, last);
+                } else i++;
+            }
+            if (lowPriority.isEmpty()) return;
+            var overloaded = false;
+            for (Handle target : lowPriority) {
+                if (target.cancelled) continue;
+                if (System.nanoTime() - start + target.lastNanos > budget) {
+                    overloaded = true;
+                    target.defer();
+                    deferredFrames.increment();
+                } else target.run();
+            }
+            lowPriority.clear();
+            if (overloaded) overloadedFrames.increment();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.util;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Class-identity filter of some types.
+ * <p>
+ * Whether a class is one of the types or their subtypes is computed once per class and cached,
+ * so testing an object costs a single lookup no matter how many types are registered.
+ * </p>
+ */
+@ApiStatus.Internal
+public final class ClassFilter {
+
+    private final List<Class<?>> types;
+    private final ClassValue<Boolean> cache = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(@NotNull Class<?> type) {
+            for (Class<?> filter : types) {
+                if (filter.isAssignableFrom(type)) return true;
+            }
+            return false;
+        }
+    };
+
+    private ClassFilter(@NotNull List<Class<?>> types) {
+        this.types = types;
+    }
+
+    /**
+     * Creates filter
+     * @param types types
+     * @return filter
+     */
+    public static @NotNull ClassFilter of(@NotNull Class<?>... types) {
+        return new ClassFilter(List.of(types));
+    }
+
+    /**
+     * Checks this object is an instance of any type
+     * @param object object
+     * @return whether matched
+     */
+    public boolean test(@NotNull Object object) {
+        return cache.get(object.getClass());
+    }
+}
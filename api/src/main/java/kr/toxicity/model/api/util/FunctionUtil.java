@@ -6,6 +6,7 @@
  */
 package kr.toxicity.model.api.util;
 
+import kr.toxicity.model.api.tracker.FrameClock;
 import kr.toxicity.model.api.util.function.BooleanConstantSupplier;
 import kr.toxicity.model.api.util.function.FloatConstantSupplier;
 import kr.toxicity.model.api.util.function.FloatSupplier;
@@ -25,6 +26,9 @@ import java.util.function.Supplier;
  */
 @ApiStatus.Internal
 public final class FunctionUtil {
+
+    private static final long TICK_FRAMES = FrameClock.frames(MathUtil.MINECRAFT_TICK_MILLS);
+
     /**
      * No initializer
      */
@@ -150,15 +154,15 @@ public final class FunctionUtil {
         private volatile T cache;
 
         public TickThrottledSupplier(long tick, @NotNull Supplier<T> delegate) {
-            this.tick = tick;
+            this.tick = FrameClock.frames(tick);
             this.delegate = delegate;
-            time = new AtomicLong(-tick - 1);
+            time = new AtomicLong(-this.tick - 1);
         }
 
         @Override
         public T get() {
             var old = time.get();
-            var current = System.currentTimeMillis();
+            var current = FrameClock.frame();
             if (current - old >= tick && time.compareAndSet(old, current)) cache = delegate.get();
             return cache;
         }
@@ -172,15 +176,15 @@ public final class FunctionUtil {
         private volatile float cache;
 
         public TickThrottledFloatSupplier(long tick, @NotNull FloatSupplier delegate) {
-            this.tick = tick;
+            this.tick = FrameClock.frames(tick);
             this.delegate = delegate;
-            time = new AtomicLong(-tick - 1);
+            time = new AtomicLong(-this.tick - 1);
         }
 
         @Override
         public float getAsFloat() {
             var old = time.get();
-            var current = System.currentTimeMillis();
+            var current = FrameClock.frame();
             if (current - old >= tick && time.compareAndSet(old, current)) cache = delegate.getAsFloat();
             return cache;
         }
@@ -189,14 +193,14 @@ public final class FunctionUtil {
     @RequiredArgsConstructor
     private static class TickThrottledBooleanSupplier implements BooleanSupplier {
         private final @NotNull BooleanSupplier delegate;
-        private final AtomicLong time = new AtomicLong(-51);
+        private final AtomicLong time = new AtomicLong(-TICK_FRAMES - 1);
         private volatile boolean cache;
 
         @Override
         public boolean getAsBoolean() {
             var old = time.get();
-            var current = System.currentTimeMillis();
-            if (current - old >= 50 && time.compareAndSet(old, current)) cache = delegate.getAsBoolean();
+            var current = FrameClock.frame();
+            if (current - old >= TICK_FRAMES && time.compareAndSet(old, current)) cache = delegate.getAsBoolean();
             return cache;
         }
     }
@@ -204,14 +208,14 @@ public final class FunctionUtil {
     @RequiredArgsConstructor
     private static class TickThrottledPredicate<T> implements Predicate<T> {
         private final @NotNull Predicate<T> delegate;
-        private final AtomicLong time = new AtomicLong(-51);
+        private final AtomicLong time = new AtomicLong(-TICK_FRAMES - 1);
         private volatile boolean cache;
 
         @Override
         public boolean test(T t) {
             var old = time.get();
-            var current = System.currentTimeMillis();
-            if (current - old >= 50 && time.compareAndSet(old, current)) cache = delegate.test(t);
+            var current = FrameClock.frame();
+            if (current - old >= TICK_FRAMES && time.compareAndSet(old, current)) cache = delegate.test(t);
             return cache;
         }
     }
@@ -224,15 +228,15 @@ public final class FunctionUtil {
         private volatile R cache;
 
         public TickThrottledFunction(long tick, @NotNull Function<T, R> delegate) {
-            this.tick = tick;
+            this.tick = FrameClock.frames(tick);
             this.delegate = delegate;
-            time = new AtomicLong(-tick - 1);
+            time = new AtomicLong(-this.tick - 1);
         }
 
         @Override
         public R apply(T t) {
             var old = time.get();
-            var current = System.currentTimeMillis();
+            var current = FrameClock.frame();
             if (current - old >= tick && time.compareAndSet(old, current)) cache = delegate.apply(t);
             return cache;
         }
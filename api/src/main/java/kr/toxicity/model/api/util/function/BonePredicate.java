@@ -11,6 +11,7 @@ import kr.toxicity.model.api.bone.RenderedBone;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Predicate;
 
@@ -35,7 +36,19 @@ public interface BonePredicate extends Predicate<RenderedBone> {
      * @return builder
      */
     static @NotNull Builder name(@NotNull String name) {
-        return b -> b.name().name().equalsIgnoreCase(name);
+        return name(name, NameMatch.IGNORE_CASE);
+    }
+
+    /**
+     * Gets builder by name
+     * @param name name
+     * @param match how to match the name
+     * @return builder
+     */
+    static @NotNull Builder name(@NotNull String name, @NotNull NameMatch match) {
+        Objects.requireNonNull(name, "name cannot be null.");
+        Objects.requireNonNull(match, "match cannot be null.");
+        return new NameBuilder(name, match);
     }
 
     /**
@@ -45,7 +58,7 @@ public interface BonePredicate extends Predicate<RenderedBone> {
      */
     static @NotNull Builder tag(@NotNull BoneTag... tags) {
         if (tags.length == 0) throw new RuntimeException("tags cannot be empty.");
-        return b -> b.name().tagged(tags);
+        return new TagBuilder(List.of(tags));
     }
 
     @Override
@@ -69,6 +82,15 @@ public interface BonePredicate extends Predicate<RenderedBone> {
      */
     @NotNull State applyAtChildren();
 
+    /**
+     * Checks this predicate only depends on the name and the tags of a bone.
+     * Bones matched by such a predicate are computed once per model and reused.
+     * @return cacheable
+     */
+    default boolean cacheable() {
+        return false;
+    }
+
     /**
      * Gets bone predicate
      * @param predicate predicate
@@ -100,10 +122,16 @@ public interface BonePredicate extends Predicate<RenderedBone> {
             return predicate.test(bone);
         }
 
+        @Override
+        public boolean cacheable() {
+            return predicate instanceof Builder builder && builder.cacheable();
+        }
+
         @Override
         @NotNull
         public BonePredicate and(@NotNull Predicate<? super RenderedBone> other) {
             Objects.requireNonNull(other);
+            if (predicate instanceof Builder builder) return of(applyAtChildren, builder.and(other));
             return of(applyAtChildren, t -> predicate.test(t) && other.test(t));
         }
 
@@ -111,16 +139,36 @@ public interface BonePredicate extends Predicate<RenderedBone> {
         @NotNull
         public BonePredicate or(@NotNull Predicate<? super RenderedBone> other) {
             Objects.requireNonNull(other);
+            if (predicate instanceof Builder builder) return of(applyAtChildren, builder.or(other));
             return of(applyAtChildren, t -> predicate.test(t) || other.test(t));
         }
 
         @Override
         @NotNull
         public BonePredicate negate() {
+            if (predicate instanceof Builder builder) return of(applyAtChildren, builder.negate());
             return of(applyAtChildren, t -> !predicate.test(t));
         }
     }
 
+    /**
+     * How to match a bone name
+     */
+    enum NameMatch {
+        /**
+         * Same name
+         */
+        EXACT,
+        /**
+         * Same name ignoring case
+         */
+        IGNORE_CASE,
+        /**
+         * Contains the name ignoring case
+         */
+        CONTAINS
+    }
+
     /**
      * children bone state
      */
@@ -192,22 +240,121 @@ public interface BonePredicate extends Predicate<RenderedBone> {
             return of(state, this);
         }
 
+        /**
+         * Checks this builder only depends on the name and the tags of a bone
+         * @return cacheable
+         */
+        default boolean cacheable() {
+            return false;
+        }
+
         @Override
         @NotNull
         default Builder and(@NotNull Predicate<? super RenderedBone> other) {
+            if (cacheable() && other instanceof Builder builder && builder.cacheable()) return new CompositeBuilder(this, builder, true);
             return bone -> test(bone) && other.test(bone);
         }
 
         @Override
         @NotNull
         default Builder or(@NotNull Predicate<? super RenderedBone> other) {
+            if (cacheable() && other instanceof Builder builder && builder.cacheable()) return new CompositeBuilder(this, builder, false);
             return bone -> test(bone) || other.test(bone);
         }
 
         @Override
         @NotNull
         default Builder negate() {
+            if (cacheable()) return new NegatedBuilder(this);
             return bone -> !test(bone);
         }
     }
+
+    /**
+     * Builder by name
+     * @param name name
+     * @param match how to match the name
+     */
+    @ApiStatus.Internal
+    record NameBuilder(@NotNull String name, @NotNull NameMatch match) implements Builder {
+        @Override
+        public boolean test(RenderedBone bone) {
+            var boneName = bone.name().name();
+            return switch (match) {
+                case EXACT -> boneName.equals(name);
+                case IGNORE_CASE -> boneName.equalsIgnoreCase(name);
+                case CONTAINS -> containsIgnoreCase(boneName);
+            };
+        }
+
+        private boolean containsIgnoreCase(@NotNull String boneName) {
+            var length = name.length();
+            for (int i = 0, max = boneName.length() - length; i <= max; i++) {
+                if (boneName.regionMatches(true, i, name, 0, length)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean cacheable() {
+            return true;
+        }
+    }
+
+    /**
+     * Builder by tags
+     * @param tags tags
+     */
+    @ApiStatus.Internal
+    record TagBuilder(@NotNull List<BoneTag> tags) implements Builder {
+        @Override
+        public boolean test(RenderedBone bone) {
+            var boneTags = bone.name().tags();
+            for (BoneTag tag : tags) {
+                if (boneTags.contains(tag)) return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean cacheable() {
+            return true;
+        }
+    }
+
+    /**
+     * Builder composed of two builders
+     * @param first first builder
+     * @param second second builder
+     * @param and whether both builders should match or either of them
+     */
+    @ApiStatus.Internal
+    record CompositeBuilder(@NotNull Builder first, @NotNull Builder second, boolean and) implements Builder {
+        @Override
+        public boolean test(RenderedBone bone) {
+            return and ? first.test(bone) && second.test(bone) : first.test(bone) || second.test(bone);
+        }
+
+        @Override
+        public boolean cacheable() {
+            return true;
+        }
+    }
+
+    /**
+     * Negated builder
+     * @param builder original builder
+     */
+    @ApiStatus.Internal
+    record NegatedBuilder(@NotNull Builder builder) implements Builder {
+        @Override
+        public boolean test(RenderedBone bone) {
+            return !builder.test(bone);
+        }
+
+        @Override
+        public boolean cacheable() {
+            return true;
+        }
+    }
 }
@@ -6,6 +6,7 @@
  */
 package kr.toxicity.model.api.util.lazy;
 
+import kr.toxicity.model.api.tracker.FrameClock;
 import kr.toxicity.model.api.util.FunctionUtil;
 import kr.toxicity.model.api.util.InterpolationUtil;
 import kr.toxicity.model.api.util.function.FloatSupplier;
@@ -22,7 +23,7 @@ import java.util.function.Supplier;
 @ApiStatus.Internal
 public final class LazyFloatProvider {
     private final FloatSupplier requiredTime;
-    private long time = System.currentTimeMillis();
+    private long time = FrameClock.millis();
     private float storedValue;
     private boolean first = true;
 
@@ -69,7 +70,7 @@ public final class LazyFloatProvider {
             first = false;
             return storedValue = updateValue;
         }
-        var current = System.currentTimeMillis();
+        var current = FrameClock.millis();
         var alpha = Math.clamp((float) (current - time) / req, 0, 1);
         time = current;
         return storedValue = InterpolationUtil.lerp(
@@ -85,7 +86,7 @@ public final class LazyFloatProvider {
      */
     public void storedValue(float storedValue) {
         this.storedValue = storedValue;
-        time = System.currentTimeMillis();
+        time = FrameClock.millis();
     }
 
     /**
@@ -0,0 +1,83 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.api.util.lock;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Optimistic lock.
+ * <p>
+ * Reads run without acquiring the lock and are validated afterward.
+ * A read which overlaps a write is retried, then falls back to the read lock.
+ * So a read supplier must not have side effects, and must tolerate inconsistent state until validated.
+ * </p>
+ */
+@ApiStatus.Internal
+public final class OptimisticLock {
+
+    private static final int MAX_OPTIMISTIC_READ = 2;
+
+    private final StampedLock lock = new StampedLock();
+
+    /**
+     * Access to optimistic read
+     * @param supplier supplier
+     * @return value
+     * @param <T> type
+     */
+    public <T> T accessToReadLock(@NotNull Supplier<T> supplier) {
+        for (int i = 0; i < MAX_OPTIMISTIC_READ; i++) {
+            var stamp = lock.tryOptimisticRead();
+            if (stamp == 0) break;
+            var value = supplier.get();
+            if (lock.validate(stamp)) return value;
+        }
+        var stamp = lock.readLock();
+        try {
+            return supplier.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Access to write lock
+     * @param supplier supplier
+     * @return value
+     * @param <T> type
+     */
+    public <T> T accessToWriteLock(@NotNull Supplier<T> supplier) {
+        var stamp = lock.writeLock();
+        try {
+            return supplier.get();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Access to write lock without capturing any state
+     * @param first first argument
+     * @param second second argument
+     * @param consumer consumer
+     * @param <A> first type
+     * @param <B> second type
+     */
+    public <A, B> void accessToWriteLock(@NotNull A first, @NotNull B second, @NotNull BiConsumer<A, B> consumer) {
+        var stamp = lock.writeLock();
+        try {
+            consumer.accept(first, second);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+import kr.toxicity.model.api.animation.AnimationEventHandler
+import kr.toxicity.model.api.animation.AnimationIterator
+import kr.toxicity.model.api.animation.AnimationModifier
+import kr.toxicity.model.api.animation.AnimationMovement
+import kr.toxicity.model.api.animation.AnimationStateHandler
+import org.junit.jupiter.api.Test
+import kotlin.test.assertEquals
+import kotlin.test.assertSame
+
+class AnimationStateHandlerTest {
+
+    private val keyframes = listOf(0.05F, 0.1F, 0.05F, 0.15F, 0.05F).map(::AnimationMovement)
+
+    private fun handler() = AnimationStateHandler(AnimationMovement.EMPTY) { _, _ -> }.apply {
+        addAnimation(
+            "walk",
+            AnimationIterator.Type.LOOP.create(keyframes),
+            AnimationModifier.builder().type(AnimationIterator.Type.LOOP).build(),
+            AnimationEventHandler.start()
+        )
+    }
+
+    @Test
+    fun testStepMatchesSingleFrames() {
+        for (step in listOf(2, 5, 10, 23)) {
+            val stepped = handler()
+            val single = handler()
+            repeat(20) {
+                stepped.tick(step) {}
+                repeat(step) {
+                    single.tick(1) {}
+                }
+                assertSame(single.afterKeyframe(), stepped.afterKeyframe(), "keyframe of step $step")
+                assertEquals(single.delay, stepped.delay, "delay of step $step")
+                assertEquals(single.progress(), stepped.progress(), "progress of step $step")
+            }
+        }
+    }
+}
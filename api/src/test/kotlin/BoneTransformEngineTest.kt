@@ -0,0 +1,112 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+import kr.toxicity.model.api.animation.AnimationEventHandler
+import kr.toxicity.model.api.animation.AnimationIterator
+import kr.toxicity.model.api.animation.AnimationModifier
+import kr.toxicity.model.api.animation.AnimationPredicate
+import kr.toxicity.model.api.bone.BoneMovement
+import kr.toxicity.model.api.bone.BoneTransformBatch
+import kr.toxicity.model.api.bone.BoneTransformKernel
+import kr.toxicity.model.api.data.renderer.RenderPipeline
+import kr.toxicity.model.fixture.ModelFixture
+import kr.toxicity.model.fixture.Stubs
+import org.joml.Quaternionf
+import org.joml.Vector3f
+import org.junit.jupiter.api.Assumptions.assumeTrue
+import org.junit.jupiter.api.Test
+import java.util.Random
+import kotlin.test.assertTrue
+
+class BoneTransformEngineTest {
+
+    private val bundler = Stubs.Bundler()
+    private val modifier = AnimationModifier.builder().type(AnimationIterator.Type.LOOP).build()
+
+    private fun pipeline(name: String, linear: Boolean, vector: Boolean): RenderPipeline {
+        val config = Stubs.config()
+        val previousLinear = config.linearBoneTransform()
+        val previousVector = config.vectorBoneTransform()
+        config.boneTransform(linear, vector)
+        try {
+            val renderer = ModelFixture.renderer(name)
+            return ModelFixture.pipeline(renderer).apply {
+                renderer.animations().values.firstOrNull()?.let { animation ->
+                    matchTree(AnimationPredicate.of { true }) { bone, predicate ->
+                        bone.addAnimation(predicate, animation, modifier, AnimationEventHandler.start())
+                    }
+                }
+            }
+        } finally {
+            config.boneTransform(previousLinear, previousVector)
+        }
+    }
+
+    @Test
+    fun testEnginesMatchRecursiveTransform() {
+        for (name in listOf("demon_knight", "steve")) {
+            val recursive = pipeline(name, linear = false, vector = false)
+            val linear = pipeline(name, linear = true, vector = false)
+            val batched = pipeline(name, linear = true, vector = true)
+            repeat(500) { frame ->
+                recursive.tick(bundler)
+                linear.tick(bundler)
+                batched.tick(bundler)
+                for (bone in recursive.bones()) {
+                    val expected = bone.afterTransform(null)
+                    for ((mode, pipeline) in listOf("linear" to linear, "batched" to batched)) {
+                        assertMovement(expected, pipeline.boneOf(bone.name())!!.afterTransform(null), "$mode ${bone.name()} of $name at $frame")
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    fun testVectorKernelMatchesScalarKernel() {
+        assumeTrue(ModuleLayer.boot().findModule(BoneTransformKernel.VECTOR_MODULE).isPresent)
+        val count = 67
+        val scalar = batch(count)
+        val vector = batch(count)
+        BoneTransformKernel.scalar().compose(scalar, count)
+        BoneTransformKernel.vector().compose(vector, count)
+        val expected = BoneMovement()
+        val actual = BoneMovement()
+        for (slot in 0..<count) {
+            assertMovement(scalar.composed(slot, expected), vector.composed(slot, actual), "slot $slot")
+        }
+    }
+
+    private fun batch(count: Int) = BoneTransformBatch(count).apply {
+        val random = Random(0)
+        val position = Vector3f()
+        val scale = Vector3f()
+        val rotation = Quaternionf()
+        for (slot in 0..<count) {
+            position.set(random.nextFloat(), random.nextFloat(), random.nextFloat())
+            scale.set(random.nextFloat() + 0.5F, random.nextFloat() + 0.5F, random.nextFloat() + 0.5F)
+            rotation.rotationXYZ(random.nextFloat(), random.nextFloat(), random.nextFloat())
+            parent(slot, position, scale, rotation)
+            position.set(random.nextFloat(), random.nextFloat(), random.nextFloat())
+            scale.set(random.nextFloat() + 0.5F, random.nextFloat() + 0.5F, random.nextFloat() + 0.5F)
+            rotation.rotationXYZ(random.nextFloat(), random.nextFloat(), random.nextFloat())
+            local(slot, position, scale, rotation)
+            position.set(random.nextFloat(), random.nextFloat(), random.nextFloat())
+            rotation.rotationXYZ(random.nextFloat(), random.nextFloat(), random.nextFloat())
+            correction(slot, position, rotation, random.nextInt(8) == 0)
+        }
+    }
+
+    private fun assertMovement(expected: BoneMovement, actual: BoneMovement, message: String) {
+        assertTrue(expected.position().equals(actual.position(), EPSILON), "position of $message")
+        assertTrue(expected.scale().equals(actual.scale(), EPSILON), "scale of $message")
+        assertTrue(expected.rotation().equals(actual.rotation(), EPSILON), "rotation of $message")
+    }
+
+    private companion object {
+        const val EPSILON = 1E-4F
+    }
+}
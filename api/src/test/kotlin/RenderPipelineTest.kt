@@ -0,0 +1,132 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+import com.sun.management.ThreadMXBean
+import kr.toxicity.model.api.animation.AnimationEventHandler
+import kr.toxicity.model.api.animation.AnimationIterator
+import kr.toxicity.model.api.animation.AnimationModifier
+import kr.toxicity.model.api.animation.AnimationPredicate
+import kr.toxicity.model.api.config.LodConfig
+import kr.toxicity.model.api.data.renderer.RenderPipeline
+import kr.toxicity.model.fixture.ModelFixture
+import kr.toxicity.model.fixture.Stubs
+import org.junit.jupiter.api.Test
+import java.lang.management.ManagementFactory
+import kotlin.test.assertEquals
+import kotlin.test.assertFalse
+import kotlin.test.assertTrue
+
+class RenderPipelineTest {
+
+    private val bundler = Stubs.Bundler()
+    private val modifier = AnimationModifier.builder().type(AnimationIterator.Type.LOOP).build()
+
+    private fun pipeline(name: String, animate: Boolean = true): RenderPipeline {
+        val renderer = ModelFixture.renderer(name)
+        return ModelFixture.pipeline(renderer).apply {
+            if (animate) renderer.animations().values.firstOrNull()?.let { animation ->
+                matchTree(AnimationPredicate.of { true }) { bone, predicate ->
+                    bone.addAnimation(predicate, animation, modifier, AnimationEventHandler.start())
+                }
+            }
+        }
+    }
+
+    @Test
+    fun testTickDoesNotAllocate() {
+        val bean = ManagementFactory.getThreadMXBean() as ThreadMXBean
+        for (name in listOf("demon_knight", "steve")) {
+            val pipeline = pipeline(name)
+            //Warms up until the frame path is compiled, so only steady-state allocations are measured.
+            repeat(20_000) {
+                pipeline.tick(bundler)
+            }
+            val ticks = 10_000
+            val before = bean.currentThreadAllocatedBytes
+            repeat(ticks) {
+                pipeline.tick(bundler)
+            }
+            val bytes = bean.currentThreadAllocatedBytes - before
+            //Less than a single object per tick, so any per-bone allocation fails.
+            assertTrue(bytes < ticks * 16L, "$name allocated $bytes bytes in $ticks ticks")
+        }
+    }
+
+    @Test
+    fun testHibernationMatchesSingleFrames() {
+        val single = pipeline("demon_knight")
+        val hibernated = pipeline("demon_knight")
+        var step = 0
+        var sleep = 0
+        repeat(1_000) { frame ->
+            single.tick(bundler)
+            //Same as the tracker, which skips animation ticking until the nearest keyframe.
+            if (++step < sleep) return@repeat
+            hibernated.tick(step, bundler)
+            step = 0
+            sleep = hibernated.idleFrames()
+            for (bone in single.bones()) {
+                val expected = bone.afterTransform(null)
+                val actual = hibernated.boneOf(bone.name())!!.afterTransform(null)
+                assertTrue(expected.position().equals(actual.position(), EPSILON), "position of ${bone.name()} at $frame")
+                assertTrue(expected.scale().equals(actual.scale(), EPSILON), "scale of ${bone.name()} at $frame")
+                assertTrue(expected.rotation().equals(actual.rotation(), EPSILON), "rotation of ${bone.name()} at $frame")
+            }
+        }
+    }
+
+    @Test
+    fun testIdleModelSleepsUntilAnimated() {
+        val pipeline = pipeline("demon_knight", animate = false)
+        pipeline.tick(bundler)
+        assertEquals(Int.MAX_VALUE, pipeline.idleFrames())
+        val animation = ModelFixture.renderer("demon_knight").animations().values.first()
+        pipeline.matchTree(AnimationPredicate.of { true }) { bone, predicate ->
+            bone.addAnimation(predicate, animation, modifier, AnimationEventHandler.start())
+        }
+        assertTrue(pipeline.idleFrames() < Int.MAX_VALUE)
+    }
+
+    @Test
+    fun testCleanSubtreesAreSkipped() {
+        val pipeline = pipeline("demon_knight", animate = false)
+        pipeline.tick(bundler)
+        Stubs.Transformer.reset()
+        assertFalse(pipeline.tick(bundler))
+        assertEquals(0, Stubs.Transformer.transformed())
+        val bone = pipeline.bones().first { it.parent != null }
+        bone.markDirty()
+        assertTrue(pipeline.tick(bundler))
+        val subtree = bone.flattenBones().count { it.display != null }
+        assertEquals(subtree, Stubs.Transformer.transformed())
+        assertTrue(subtree < pipeline.bones().count { it.display != null })
+    }
+
+    @Test
+    fun testFrameDivisorStretchesInterpolation() {
+        val pipeline = pipeline("demon_knight", animate = false)
+        assertTrue(pipeline.frameDivisor(20))
+        assertFalse(pipeline.frameDivisor(20))
+        Stubs.Transformer.reset()
+        pipeline.tick(20, bundler)
+        assertTrue(Stubs.Transformer.transformed() > 0)
+        assertEquals(4, Stubs.Transformer.lastDuration())
+    }
+
+    @Test
+    fun testLodDivisor() {
+        val lod = LodConfig(true, listOf(LodConfig.Level(24.0, 2), LodConfig.Level(48.0, 5), LodConfig.Level(96.0, 10)))
+        assertEquals(1, lod.divisor(0.0))
+        assertEquals(2, lod.divisor(30.0 * 30.0))
+        assertEquals(5, lod.divisor(60.0 * 60.0))
+        assertEquals(10, lod.divisor(100.0 * 100.0))
+        assertEquals(1, LodConfig(false, lod.levels()).divisor(100.0 * 100.0))
+    }
+
+    private companion object {
+        const val EPSILON = 1E-4F
+    }
+}
@@ -0,0 +1,93 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.fixture;
+
+import kr.toxicity.model.api.bone.BoneName;
+import kr.toxicity.model.api.data.blueprint.BlueprintElement;
+import kr.toxicity.model.api.data.raw.ModelData;
+import kr.toxicity.model.api.data.renderer.ModelRenderer;
+import kr.toxicity.model.api.data.renderer.RenderPipeline;
+import kr.toxicity.model.api.data.renderer.RenderSource;
+import kr.toxicity.model.api.data.renderer.RendererGroup;
+import org.bukkit.Location;
+import org.bukkit.Material;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import static kr.toxicity.model.api.util.CollectionUtil.mapValue;
+
+/**
+ * Loads bundled models as test and benchmark fixtures.
+ */
+public final class ModelFixture {
+
+    static {
+        Stubs.install();
+    }
+
+    /**
+     * No initializer
+     */
+    private ModelFixture() {
+        throw new RuntimeException();
+    }
+
+    /**
+     * Loads a bundled model.
+     * @param name model name (demon_knight, steve)
+     * @return renderer
+     */
+    public static @NotNull ModelRenderer renderer(@NotNull String name) {
+        try (var reader = new InputStreamReader(Objects.requireNonNull(
+            ModelFixture.class.getResourceAsStream("/" + name + ".bbmodel"),
+            "Unable to find this model: " + name
+        ), StandardCharsets.UTF_8)) {
+            var blueprint = ModelData.GSON.fromJson(reader, ModelData.class)
+                .loadBlueprint(name, false)
+                .blueprint();
+            return new ModelRenderer(
+                blueprint.name(),
+                name.equals("steve") ? ModelRenderer.Type.PLAYER : ModelRenderer.Type.GENERAL,
+                groups(blueprint.elements()),
+                blueprint.animations()
+            );
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Creates a render pipeline of some renderer.
+     * @param renderer renderer
+     * @return pipeline
+     */
+    public static @NotNull RenderPipeline pipeline(@NotNull ModelRenderer renderer) {
+        var source = RenderSource.of(new Location(null, 0, 0, 0));
+        return new RenderPipeline(renderer, source, mapValue(renderer.rendererGroups(), group -> group.create(source)));
+    }
+
+    private static @NotNull Map<BoneName, RendererGroup> groups(@NotNull Collection<? extends BlueprintElement> elements) {
+        return elements.stream()
+            .filter(BlueprintElement.Bone.class::isInstance)
+            .map(BlueprintElement.Bone.class::cast)
+            .collect(Collectors.toMap(BlueprintElement.Bone::name, ModelFixture::group, (a, b) -> a));
+    }
+
+    private static @NotNull RendererGroup group(@NotNull BlueprintElement.Bone bone) {
+        if (!(bone instanceof BlueprintElement.Group group)) return new RendererGroup(1F, new Stubs.Item(Material.AIR), bone, Map.of(), null);
+        //Every group has its own display item like the generated models, so bones are real displays with a transformer.
+        return new RendererGroup(group.scale(), new Stubs.Item(Material.PAPER), group, groups(group.children()), group.hitBox());
+    }
+}
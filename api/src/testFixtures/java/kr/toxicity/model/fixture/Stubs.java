@@ -0,0 +1,580 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.fixture;
+
+import it.unimi.dsi.fastutil.floats.Float2FloatFunction;
+import kr.toxicity.model.api.BetterModel;
+import kr.toxicity.model.api.BetterModelConfig;
+import kr.toxicity.model.api.BetterModelEvaluator;
+import kr.toxicity.model.api.BetterModelPlugin;
+import kr.toxicity.model.api.config.*;
+import kr.toxicity.model.api.mount.MountController;
+import kr.toxicity.model.api.mount.MountControllers;
+import kr.toxicity.model.api.nms.DisplayTransformer;
+import kr.toxicity.model.api.nms.ModelDisplay;
+import kr.toxicity.model.api.nms.NMS;
+import kr.toxicity.model.api.nms.PacketBundler;
+import kr.toxicity.model.api.profiler.ModelProfiler;
+import kr.toxicity.model.api.util.EntityUtil;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.Server;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Stubbed server, plugin and NMS used to run the tracker frame path without a Minecraft server.
+ * <p>
+ * Every unspecified interface method returns a neutral value: default methods run their own implementation,
+ * records return their {@code DEFAULT} instance and other interfaces return another stub.
+ * </p>
+ */
+public final class Stubs {
+
+    private static boolean installed;
+    private static Config config;
+
+    /**
+     * No initializer
+     */
+    private Stubs() {
+        throw new RuntimeException();
+    }
+
+    /**
+     * Registers stubbed server and plugin once.
+     */
+    public static synchronized void install() {
+        if (installed) return;
+        installed = true;
+        Bukkit.setServer(stub(Server.class, Map.of(
+            "getLogger", args -> Logger.getLogger("BetterModel-Fixture"),
+            "getViewDistance", args -> 10
+        )));
+        var nms = stub(NMS.class, Map.of(
+            "create", args -> {
+                var display = stub(ModelDisplay.class, Map.of(
+                    "createTransformer", a -> new Transformer()
+                ));
+                @SuppressWarnings("unchecked")
+                var consumer = (Consumer<ModelDisplay>) args[2];
+                consumer.accept(display);
+                return display;
+            },
+            "createBundler", args -> new Bundler(),
+            "createLazyBundler", args -> new Bundler(),
+            "createParallelBundler", args -> new Bundler(),
+            "tint", args -> args[0]
+        ));
+        config = new Config();
+        var evaluator = stub(BetterModelEvaluator.class, Map.of(
+            "compile", args -> (Float2FloatFunction) value -> 0F
+        ));
+        BetterModel.register(stub(BetterModelPlugin.class, Map.of(
+            "nms", args -> nms,
+            "config", args -> config,
+            "evaluator", args -> evaluator,
+            "profiler", args -> ModelProfiler.INSTANCE
+        )));
+    }
+
+    /**
+     * Gets the installed config.
+     * @return config
+     */
+    public static synchronized @NotNull Config config() {
+        install();
+        return config;
+    }
+
+    /**
+     * Creates a stub of some interface.
+     * @param type interface
+     * @return stub
+     * @param <T> type
+     */
+    public static <T> @NotNull T stub(@NotNull Class<T> type) {
+        return stub(type, Map.of());
+    }
+
+    /**
+     * Creates a stub of some interface.
+     * @param type interface
+     * @param overrides method implementations by name
+     * @return stub
+     * @param <T> type
+     */
+    public static <T> @NotNull T stub(@NotNull Class<T> type, @NotNull Map<String, Function<Object[], Object>> overrides) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, args) -> {
+            var override = overrides.get(method.getName());
+            if (override != null) return override.apply(args != null ? args : new Object[0]);
+            if (method.getDeclaringClass() == Object.class) return switch (method.getName()) {
+                case "equals" -> proxy == args[0];
+                case "hashCode" -> System.identityHashCode(proxy);
+                default -> type.getSimpleName() + "Stub";
+            };
+            if (method.isDefault()) return InvocationHandler.invokeDefault(proxy, method, args);
+            return neutral(method.getReturnType());
+        }));
+    }
+
+    private static Object neutral(@NotNull Class<?> type) {
+        if (type == void.class) return null;
+        if (type.isPrimitive()) return Array.get(Array.newInstance(type, 1), 0);
+        if (type == String.class) return "";
+        if (type == Optional.class) return Optional.empty();
+        if (type == List.class || type == Collection.class) return List.of();
+        if (type == Set.class) return Set.of();
+        if (type == Map.class) return Map.of();
+        if (type == Stream.class) return Stream.empty();
+        if (type == CompletableFuture.class) return CompletableFuture.completedFuture(null);
+        if (type.isEnum()) return type.getEnumConstants()[0];
+        if (type.isRecord()) {
+            try {
+                var field = type.getField("DEFAULT");
+                if (Modifier.isStatic(field.getModifiers()) && field.getType() == type) return field.get(null);
+            } catch (ReflectiveOperationException ignored) {
+            }
+            return null;
+        }
+        if (type.isInterface() && !type.isSealed()) return stub(type);
+        return null;
+    }
+
+    /**
+     * A packet bundler which drops every packet.
+     */
+    public static final class Bundler implements PacketBundler {
+        @Override
+        public boolean isEmpty() {
+            return true;
+        }
+
+        @Override
+        public int size() {
+            return 0;
+        }
+
+        @Override
+        public void send(@NotNull Player player, @NotNull Runnable onSuccess) {
+            onSuccess.run();
+        }
+    }
+
+    /**
+     * A display transformer which drops every transformation.
+     * It is not a proxy, so measuring allocations of the frame path does not count boxed arguments.
+     * Every transformation is counted, so tests can check which displays are updated.
+     */
+    public static final class Transformer implements DisplayTransformer {
+
+        private static int transformed;
+        private static int lastDuration;
+
+        /**
+         * Gets the number of transformations since the last reset
+         * @return transformations
+         */
+        public static int transformed() {
+            return transformed;
+        }
+
+        /**
+         * Gets the interpolation duration of the last transformation
+         * @return duration
+         */
+        public static int lastDuration() {
+            return lastDuration;
+        }
+
+        /**
+         * Resets the transformation count
+         */
+        public static void reset() {
+            transformed = 0;
+            lastDuration = 0;
+        }
+
+        @Override
+        public void transform(int duration, @NotNull Vector3f position, @NotNull Vector3f scale, @NotNull Quaternionf rotation, @NotNull PacketBundler bundler) {
+            transformed++;
+            lastDuration = duration;
+        }
+
+        @Override
+        public void transform(int duration, @NotNull Vector3f position, @NotNull Vector3f scale, @NotNull Quaternionf rotation, @NotNull TransformThresholdConfig.Threshold threshold, boolean force, @NotNull PacketBundler bundler) {
+            transformed++;
+            lastDuration = duration;
+        }
+
+        @Override
+        public void sendTransformation(@NotNull PacketBundler bundler) {
+        }
+
+        @Override
+        public void sendTransformation(int duration, @NotNull PacketBundler bundler) {
+        }
+    }
+
+    /**
+     * An item stack which does not need a server implementation.
+     * It is never modified, so it is its own copy.
+     */
+    public static final class Item extends ItemStack {
+
+        private final Material type;
+
+        /**
+         * Creates item
+         * @param type material
+         */
+        public Item(@NotNull Material type) {
+            this.type = type;
+        }
+
+        @Override
+        public @NotNull Material getType() {
+            return type;
+        }
+
+        @Override
+        public int getAmount() {
+            return 1;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return type.isAir();
+        }
+
+        @Override
+        public boolean hasItemMeta() {
+            return false;
+        }
+
+        @Override
+        public @Nullable ItemMeta getItemMeta() {
+            return null;
+        }
+
+        @Override
+        public @NotNull ItemStack clone() {
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return this == obj;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+
+        @Override
+        public @NotNull String toString() {
+            return "ItemStub{" + type + "}";
+        }
+    }
+
+    /**
+     * A config which has the default values of the bundled config.yml.
+     * It is not a proxy, so measuring allocations of the frame path does not count boxed return values.
+     */
+    public static final class Config implements BetterModelConfig {
+
+        private final DebugConfig debug;
+        private final IndicatorConfig indicator;
+        private final ModuleConfig module;
+        private final PackConfig pack;
+        private final LodConfig lod;
+        private final LodConfig viewerLod;
+        private final SchedulerConfig scheduler;
+        private final TransformThresholdConfig transformThreshold;
+        private final boolean metrics;
+        private final boolean sightTrace;
+        private final boolean mergeWithExternalResources;
+        private final Material item;
+        private final String itemNamespace;
+        private final double maxSight;
+        private final double minSight;
+        private final String namespace;
+        private final PackType packType;
+        private final String buildFolderLocation;
+        private final boolean followMobInvisibility;
+        private final int animatedTextureFrameTime;
+        private final boolean usePurpurAfk;
+        private final boolean versionCheck;
+        private final MountController defaultMountController;
+        private final int lerpFrameTime;
+        private final boolean cancelPlayerModelInventory;
+        private final long playerHideDelay;
+        private final int packetBundlingSize;
+        private final boolean enableStrictLoading;
+        private volatile boolean linearBoneTransform;
+        private volatile boolean vectorBoneTransform;
+        private final int bakedTransformMemory;
+        private final int tintedItemCacheSize;
+        private final boolean sharedPacketEncoding;
+        private final boolean packetBackpressure;
+
+        private Config() {
+            YamlConfiguration yaml;
+            try (var reader = new InputStreamReader(Objects.requireNonNull(
+                Stubs.class.getResourceAsStream("/config.yml"),
+                "Unable to find config.yml"
+            ), StandardCharsets.UTF_8)) {
+                yaml = YamlConfiguration.loadConfiguration(reader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            debug = section(yaml, "debug", DebugConfig::from, DebugConfig.DEFAULT);
+            indicator = section(yaml, "indicator", IndicatorConfig::from, IndicatorConfig.DEFAULT);
+            module = section(yaml, "module", ModuleConfig::from, ModuleConfig.DEFAULT);
+            pack = section(yaml, "pack", PackConfig::from, PackConfig.DEFAULT);
+            lod = section(yaml, "lod", LodConfig::from, LodConfig.DEFAULT);
+            viewerLod = section(yaml, "viewer-lod", s -> LodConfig.from(s, LodConfig.VIEWER_DEFAULT), LodConfig.VIEWER_DEFAULT);
+            scheduler = section(yaml, "scheduler", SchedulerConfig::from, SchedulerConfig.DEFAULT);
+            transformThreshold = section(yaml, "transform-threshold", TransformThresholdConfig::from, TransformThresholdConfig.DEFAULT);
+            metrics = false;
+            sightTrace = yaml.getBoolean("sight-trace", true);
+            mergeWithExternalResources = yaml.getBoolean("merge-with-external-resources", true);
+            item = Material.LEATHER_HORSE_ARMOR;
+            itemNamespace = yaml.getString("item-namespace", "bm_models");
+            var sight = yaml.getDouble("max-sight", -1);
+            maxSight = sight <= 0 ? EntityUtil.RENDER_DISTANCE : sight;
+            minSight = yaml.getDouble("min-sight", 5);
+            namespace = yaml.getString("namespace", "bettermodel");
+            packType = PackType.ZIP;
+            buildFolderLocation = yaml.getString("build-folder-location", "BetterModel/build");
+            followMobInvisibility = yaml.getBoolean("follow-mob-invisibility", true);
+            animatedTextureFrameTime = yaml.getInt("animated-texture-frame-time", 10);
+            usePurpurAfk = false;
+            versionCheck = false;
+            defaultMountController = MountControllers.WALK;
+            lerpFrameTime = yaml.getInt("lerp-frame-time", 5);
+            cancelPlayerModelInventory = yaml.getBoolean("cancel-player-model-inventory");
+            playerHideDelay = Math.max(yaml.getLong("player-hide-delay", 3L), 1L);
+            packetBundlingSize = yaml.getInt("packet-bundling-size", 16);
+            enableStrictLoading = yaml.getBoolean("enable-strict-loading");
+            linearBoneTransform = yaml.getBoolean("linear-bone-transform", true);
+            vectorBoneTransform = yaml.getBoolean("vector-bone-transform", false);
+            bakedTransformMemory = Math.max(yaml.getInt("baked-transform-memory", 64), 0);
+            tintedItemCacheSize = Math.max(yaml.getInt("tinted-item-cache-size", 1024), 0);
+            sharedPacketEncoding = yaml.getBoolean("shared-packet-encoding", false);
+            packetBackpressure = yaml.getBoolean("packet-backpressure", false);
+        }
+
+        private static <T> @NotNull T section(@NotNull YamlConfiguration yaml, @NotNull String key, @NotNull Function<ConfigurationSection, T> mapper, @NotNull T def) {
+            var section = yaml.getConfigurationSection(key);
+            return section != null ? mapper.apply(section) : def;
+        }
+
+        @Override
+        public @NotNull DebugConfig debug() {
+            return debug;
+        }
+
+        @Override
+        public @NotNull IndicatorConfig indicator() {
+            return indicator;
+        }
+
+        @Override
+        public @NotNull ModuleConfig module() {
+            return module;
+        }
+
+        @Override
+        public @NotNull PackConfig pack() {
+            return pack;
+        }
+
+        @Override
+        public @NotNull LodConfig lod() {
+            return lod;
+        }
+
+        @Override
+        public @NotNull LodConfig viewerLod() {
+            return viewerLod;
+        }
+
+        @Override
+        public @NotNull SchedulerConfig scheduler() {
+            return scheduler;
+        }
+
+        @Override
+        public boolean metrics() {
+            return metrics;
+        }
+
+        @Override
+        public boolean sightTrace() {
+            return sightTrace;
+        }
+
+        @Override
+        public boolean mergeWithExternalResources() {
+            return mergeWithExternalResources;
+        }
+
+        @Override
+        public @NotNull Material item() {
+            return item;
+        }
+
+        @Override
+        public @NotNull String itemNamespace() {
+            return itemNamespace;
+        }
+
+        @Override
+        public double maxSight() {
+            return maxSight;
+        }
+
+        @Override
+        public double minSight() {
+            return minSight;
+        }
+
+        @Override
+        public @NotNull String namespace() {
+            return namespace;
+        }
+
+        @Override
+        public @NotNull PackType packType() {
+            return packType;
+        }
+
+        @Override
+        public @NotNull String buildFolderLocation() {
+            return buildFolderLocation;
+        }
+
+        @Override
+        public boolean followMobInvisibility() {
+            return followMobInvisibility;
+        }
+
+        @Override
+        public int animatedTextureFrameTime() {
+            return animatedTextureFrameTime;
+        }
+
+        @Override
+        public boolean usePurpurAfk() {
+            return usePurpurAfk;
+        }
+
+        @Override
+        public boolean versionCheck() {
+            return versionCheck;
+        }
+
+        @Override
+        public @NotNull MountController defaultMountController() {
+            return defaultMountController;
+        }
+
+        @Override
+        public int lerpFrameTime() {
+            return lerpFrameTime;
+        }
+
+        @Override
+        public boolean cancelPlayerModelInventory() {
+            return cancelPlayerModelInventory;
+        }
+
+        @Override
+        public long playerHideDelay() {
+            return playerHideDelay;
+        }
+
+        @Override
+        public int packetBundlingSize() {
+            return packetBundlingSize;
+        }
+
+        @Override
+        public boolean enableStrictLoading() {
+            return enableStrictLoading;
+        }
+
+        /**
+         * Changes the bone transform mode of pipelines created after this call
+         * @param linear whether to use the linear transform engine
+         * @param vector whether to batch the linear transform engine
+         */
+        public void boneTransform(boolean linear, boolean vector) {
+            linearBoneTransform = linear;
+            vectorBoneTransform = vector;
+        }
+
+        @Override
+        public boolean linearBoneTransform() {
+            return linearBoneTransform;
+        }
+
+        @Override
+        public boolean vectorBoneTransform() {
+            return vectorBoneTransform;
+        }
+
+        @Override
+        public int bakedTransformMemory() {
+            return bakedTransformMemory;
+        }
+
+        @Override
+        public int tintedItemCacheSize() {
+            return tintedItemCacheSize;
+        }
+
+        @Override
+        public boolean sharedPacketEncoding() {
+            return sharedPacketEncoding;
+        }
+
+        @Override
+        public @NotNull TransformThresholdConfig transformThreshold() {
+            return transformThreshold;
+        }
+
+        @Override
+        public boolean packetBackpressure() {
+            return packetBackpressure;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,66 @@
+import groovy.json.JsonSlurper
+
+plugins {
+    alias(libs.plugins.convention.standard)
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+val minecraft = property("minecraft_version").toString()
+
+dependencies {
+    jmh(project(":api"))
+    jmh(testFixtures(project(":api")))
+    jmh("io.papermc.paper:paper-api:$minecraft-R0.1-SNAPSHOT")
+    jmh(libs.bundles.library)
+}
+
+tasks.named<JavaCompile>("compileJmhJava") {
+    options.compilerArgs.addAll(listOf("--add-modules=jdk.incubator.vector", "-Xlint:-incubating"))
+}
+
+val jmhResults = layout.buildDirectory.file("results/jmh/results.json")
+
+//Steady-state frames must not allocate. Anything below a byte per op is measurement noise.
+val allocationBenchmarks = listOf("RenderPipelineBenchmark.tick", "RenderPipelineBenchmark.solve")
+val allocationThreshold = 1.0
+
+//-PallocationGate runs only the allocation benchmarks with short iterations, for pull request checks.
+val allocationGate = providers.gradleProperty("allocationGate").isPresent
+
+jmh {
+    if (allocationGate) {
+        includes = allocationBenchmarks.map { "\\.${it.replace(".", "\\.")}$" }
+        warmupIterations = 1
+        warmup = "1s"
+        iterations = 2
+        timeOnIteration = "2s"
+    } else {
+        warmupIterations = 3
+        iterations = 5
+    }
+    fork = 1
+    profilers = listOf("gc")
+    jvmArgsAppend = listOf("--add-modules=jdk.incubator.vector")
+    resultFormat = "JSON"
+    resultsFile = jmhResults
+}
+
+val checkAllocation by tasks.registering {
+    group = "verification"
+    description = "Fails if an allocation-free benchmark allocates per operation."
+    dependsOn(tasks.named("jmh"))
+    inputs.file(jmhResults)
+    doLast {
+        @Suppress("UNCHECKED_CAST")
+        val results = JsonSlurper().parse(jmhResults.get().asFile) as List<Map<String, Any?>>
+        val failures = results.mapNotNull { result ->
+            val benchmark = result["benchmark"].toString()
+            if (allocationBenchmarks.none { benchmark.endsWith(it) }) return@mapNotNull null
+            @Suppress("UNCHECKED_CAST")
+            val metric = (result["secondaryMetrics"] as Map<String, Map<String, Any?>>)["gc.alloc.rate.norm"] ?: return@mapNotNull null
+            val bytes = (metric["score"] as Number).toDouble()
+            if (bytes < allocationThreshold) null else "$benchmark ${result["params"] ?: ""}: ${"%.2f".format(bytes)} B/op"
+        }
+        if (failures.isNotEmpty()) throw GradleException("Allocation regression:\n" + failures.joinToString("\n"))
+    }
+}
@@ -0,0 +1,49 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import kr.toxicity.model.api.animation.*;
+import kr.toxicity.model.fixture.ModelFixture;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks animation state ticking of every animator in a model.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AnimationStateBenchmark {
+
+    @Param({ "demon_knight", "steve" })
+    public String model;
+
+    private final List<AnimationStateHandler<AnimationMovement>> handlers = new ArrayList<>();
+
+    @Setup
+    public void setup() {
+        var renderer = ModelFixture.renderer(model);
+        var modifier = AnimationModifier.builder().type(AnimationIterator.Type.LOOP).build();
+        renderer.animations().values().forEach(animation -> animation.animator().values().forEach(animator -> {
+            var handler = new AnimationStateHandler<>(AnimationMovement.EMPTY, (before, after) -> {});
+            handler.addAnimation(animation.name(), animator.iterator(AnimationIterator.Type.LOOP), modifier, AnimationEventHandler.start());
+            handlers.add(handler);
+        }));
+    }
+
+    @Benchmark
+    public int tick() {
+        var updated = 0;
+        for (AnimationStateHandler<AnimationMovement> handler : handlers) {
+            if (handler.tick()) updated++;
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import kr.toxicity.model.api.animation.AnimationEventHandler;
+import kr.toxicity.model.api.animation.AnimationIterator;
+import kr.toxicity.model.api.animation.AnimationModifier;
+import kr.toxicity.model.api.animation.AnimationPredicate;
+import kr.toxicity.model.api.bone.RenderedBone;
+import kr.toxicity.model.api.data.renderer.RenderPipeline;
+import kr.toxicity.model.fixture.ModelFixture;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks bone transformation of a whole model.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoneStateBenchmark {
+
+    @Param({ "demon_knight", "steve" })
+    public String model;
+
+    private List<RenderedBone> bones;
+
+    @Setup
+    public void setup() {
+        var renderer = ModelFixture.renderer(model);
+        RenderPipeline pipeline = ModelFixture.pipeline(renderer);
+        var modifier = AnimationModifier.builder().type(AnimationIterator.Type.LOOP).build();
+        renderer.animations().values().stream().findFirst().ifPresent(animation -> pipeline.matchTree(
+            AnimationPredicate.of(bone -> true),
+            (bone, predicate) -> bone.addAnimation(predicate, animation, modifier, AnimationEventHandler.start())
+        ));
+        bones = List.copyOf(pipeline.bones());
+    }
+
+    @Benchmark
+    public void after(Blackhole blackhole) {
+        for (RenderedBone bone : bones) {
+            bone.tick();
+        }
+        for (RenderedBone bone : bones) {
+            blackhole.consume(bone.afterTransform(null));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import kr.toxicity.model.api.bone.BoneTransformBatch;
+import kr.toxicity.model.api.bone.BoneTransformKernel;
+import org.joml.Quaternionf;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the scalar and the vector bone transform kernels.
+ * <p>
+ * Parent scales are 1 and offsets are 0, so repeatedly composing the same batch stays in range.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BoneTransformKernelBenchmark {
+
+    @Param({ "16", "64", "256" })
+    public int count;
+
+    @Param({ "scalar", "vector" })
+    public String kernel;
+
+    private BoneTransformKernel target;
+    private BoneTransformBatch batch;
+
+    @Setup
+    public void setup() {
+        target = switch (kernel) {
+            case "scalar" -> BoneTransformKernel.scalar();
+            case "vector" -> BoneTransformKernel.vector();
+            default -> throw new IllegalArgumentException(kernel);
+        };
+        batch = new BoneTransformBatch(count);
+        var random = new Random(0);
+        var zero = new Vector3f();
+        var one = new Vector3f(1F);
+        var position = new Vector3f();
+        var rotation = new Quaternionf();
+        var correction = new Quaternionf();
+        for (int i = 0; i < count; i++) {
+            rotation.rotationXYZ(random.nextFloat(), random.nextFloat(), random.nextFloat());
+            batch.parent(i, zero, one, rotation);
+            position.set(random.nextFloat(), random.nextFloat(), random.nextFloat());
+            rotation.rotationXYZ(random.nextFloat(), random.nextFloat(), random.nextFloat());
+            batch.local(i, position, one, rotation);
+            correction.rotationXYZ(random.nextFloat(), random.nextFloat(), random.nextFloat());
+            batch.correction(i, zero, correction, random.nextInt(8) == 0);
+        }
+    }
+
+    @Benchmark
+    public BoneTransformBatch compose() {
+        target.compose(batch, count);
+        return batch;
+    }
+}
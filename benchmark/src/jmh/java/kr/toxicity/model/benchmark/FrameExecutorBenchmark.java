@@ -0,0 +1,64 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.*;
+
+/**
+ * Compares the platform worker pool with virtual thread frames.
+ * <p>
+ * Each operation runs one frame of every tracker, some of which block like a handler doing I/O.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class FrameExecutorBenchmark {
+
+    @Param({ "PLATFORM", "VIRTUAL" })
+    public String mode;
+    @Param({ "512" })
+    public int trackers;
+    @Param({ "0", "16" })
+    public int blockingTrackers;
+
+    private ExecutorService executor;
+
+    @Setup
+    public void setup() {
+        executor = mode.equals("VIRTUAL")
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public void frame() throws InterruptedException {
+        var latch = new CountDownLatch(trackers);
+        for (int i = 0; i < trackers; i++) {
+            var blocking = i < blockingTrackers;
+            executor.execute(() -> {
+                try {
+                    if (blocking) Thread.sleep(1);
+                    Blackhole.consumeCPU(1000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    latch.countDown();
+                }
+            });
+        }
+        latch.await();
+    }
+}
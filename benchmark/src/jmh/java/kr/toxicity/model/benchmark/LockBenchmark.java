@@ -0,0 +1,70 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import kr.toxicity.model.api.util.lock.DuplexLock;
+import kr.toxicity.model.api.util.lock.OptimisticLock;
+import org.joml.Vector3f;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks bone state locks under contention.
+ * <p>
+ * Each group has one writer, like the tracker worker, and three readers, like hitbox and API queries.
+ * </p>
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LockBenchmark {
+
+    private final DuplexLock duplexLock = new DuplexLock();
+    private final OptimisticLock optimisticLock = new OptimisticLock();
+    private final Vector3f before = new Vector3f(), after = new Vector3f();
+
+    private float next() {
+        return after.x + 1F;
+    }
+
+    @Benchmark
+    @Group("duplex")
+    @GroupThreads(1)
+    public Vector3f duplexWrite() {
+        var value = next();
+        return duplexLock.accessToWriteLock(() -> {
+            before.set(after);
+            return after.set(value, value, value);
+        });
+    }
+
+    @Benchmark
+    @Group("duplex")
+    @GroupThreads(3)
+    public Vector3f duplexRead() {
+        return duplexLock.accessToReadLock(() -> before.lerp(after, 0.5F, new Vector3f()));
+    }
+
+    @Benchmark
+    @Group("optimistic")
+    @GroupThreads(1)
+    public Vector3f optimisticWrite() {
+        var value = next();
+        return optimisticLock.accessToWriteLock(() -> {
+            before.set(after);
+            return after.set(value, value, value);
+        });
+    }
+
+    @Benchmark
+    @Group("optimistic")
+    @GroupThreads(3)
+    public Vector3f optimisticRead() {
+        return optimisticLock.accessToReadLock(() -> before.lerp(after, 0.5F, new Vector3f()));
+    }
+}
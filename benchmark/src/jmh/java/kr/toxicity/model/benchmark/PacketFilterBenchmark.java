@@ -0,0 +1,120 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import kr.toxicity.model.api.util.ClassFilter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Benchmarks per-packet overhead of the channel handler interception path.
+ * <p>
+ * Minecraft packets are not available here, so each packet type is a stand-in class.
+ * Outbound traffic is mostly vanilla packets which are never handled, with a given ratio of intercepted packets.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PacketFilterBenchmark {
+
+    private static final int PACKETS = 1024;
+
+    @Param({ "0.05", "0.25" })
+    public double interceptedRatio;
+
+    private final Object[] packets = new Object[PACKETS];
+    private final ClassFilter filter = ClassFilter.of(
+        Bundle.class,
+        AddEntity.class,
+        RemoveEntities.class,
+        SetPassengers.class,
+        UpdateAttributes.class,
+        SetEntityData.class,
+        SetEquipment.class,
+        Respawn.class,
+        ContainerSetSlot.class,
+        ContainerSetContent.class
+    );
+    private int index;
+
+    @Setup
+    public void setup() {
+        var random = new Random(0);
+        Supplier<?>[] intercepted = {
+            () -> new Bundle(), () -> new AddEntity(), () -> new RemoveEntities(), () -> new SetPassengers(), () -> new UpdateAttributes(),
+            () -> new SetEntityData(), () -> new SetEquipment(), () -> new Respawn(), () -> new ContainerSetSlot(), () -> new ContainerSetContent()
+        };
+        Supplier<?>[] vanilla = {
+            () -> new ChunkData(), () -> new Sound(), () -> new MoveEntity(), () -> new RotateHead(),
+            () -> new SetTime(), () -> new LightUpdate(), () -> new KeepAlive(), () -> new SystemChat()
+        };
+        for (int i = 0; i < PACKETS; i++) {
+            var types = random.nextDouble() < interceptedRatio ? intercepted : vanilla;
+            packets[i] = types[random.nextInt(types.length)].get();
+        }
+    }
+
+    private Object next() {
+        return packets[index++ & (PACKETS - 1)];
+    }
+
+    @Benchmark
+    public void direct(Blackhole blackhole) {
+        blackhole.consume(next());
+    }
+
+    @Benchmark
+    public void typeChecks(Blackhole blackhole) {
+        blackhole.consume(handle(next()));
+    }
+
+    @Benchmark
+    public void prefiltered(Blackhole blackhole) {
+        var packet = next();
+        blackhole.consume(filter.test(packet) ? handle(packet) : packet);
+    }
+
+    //Same shape as the type checks of the channel handler
+    private static Object handle(Object packet) {
+        if (packet instanceof Bundle) return packet;
+        if (packet instanceof AddEntity) return packet;
+        if (packet instanceof RemoveEntities) return packet;
+        if (packet instanceof SetPassengers) return packet;
+        if (packet instanceof UpdateAttributes) return packet;
+        if (packet instanceof SetEntityData) return packet;
+        if (packet instanceof SetEquipment) return packet;
+        if (packet instanceof Respawn) return packet;
+        if (packet instanceof ContainerSetSlot) return packet;
+        if (packet instanceof ContainerSetContent) return packet;
+        return packet;
+    }
+
+    private record Bundle() {}
+    private record AddEntity() {}
+    private record RemoveEntities() {}
+    private record SetPassengers() {}
+    private record UpdateAttributes() {}
+    private record SetEntityData() {}
+    private record SetEquipment() {}
+    private record Respawn() {}
+    private record ContainerSetSlot() {}
+    private record ContainerSetContent() {}
+
+    private record ChunkData() {}
+    private record Sound() {}
+    private record MoveEntity() {}
+    private record RotateHead() {}
+    private record SetTime() {}
+    private record LightUpdate() {}
+    private record KeepAlive() {}
+    private record SystemChat() {}
+}
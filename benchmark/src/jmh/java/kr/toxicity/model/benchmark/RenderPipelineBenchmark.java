@@ -0,0 +1,63 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.benchmark;
+
+import kr.toxicity.model.api.animation.AnimationEventHandler;
+import kr.toxicity.model.api.animation.AnimationIterator;
+import kr.toxicity.model.api.animation.AnimationModifier;
+import kr.toxicity.model.api.animation.AnimationPredicate;
+import kr.toxicity.model.api.bone.BoneIKSolver;
+import kr.toxicity.model.api.bone.RenderedBone;
+import kr.toxicity.model.api.data.renderer.RenderPipeline;
+import kr.toxicity.model.api.nms.PacketBundler;
+import kr.toxicity.model.fixture.ModelFixture;
+import kr.toxicity.model.fixture.Stubs;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static kr.toxicity.model.api.util.CollectionUtil.associate;
+
+/**
+ * Benchmarks a whole animation frame of a render pipeline.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RenderPipelineBenchmark {
+
+    @Param({ "demon_knight", "steve" })
+    public String model;
+
+    private RenderPipeline pipeline;
+    private BoneIKSolver ikSolver;
+    private final PacketBundler bundler = new Stubs.Bundler();
+
+    @Setup
+    public void setup() {
+        var renderer = ModelFixture.renderer(model);
+        pipeline = ModelFixture.pipeline(renderer);
+        var modifier = AnimationModifier.builder().type(AnimationIterator.Type.LOOP).build();
+        renderer.animations().values().stream().findFirst().ifPresent(animation -> pipeline.matchTree(
+            AnimationPredicate.of(bone -> true),
+            (bone, predicate) -> bone.addAnimation(predicate, animation, modifier, AnimationEventHandler.start())
+        ));
+        ikSolver = new BoneIKSolver(associate(pipeline.bones(), RenderedBone::uuid));
+        pipeline.bones().forEach(bone -> bone.locator(ikSolver));
+        pipeline.tick(bundler);
+    }
+
+    @Benchmark
+    public boolean tick() {
+        return pipeline.tick(bundler);
+    }
+
+    @Benchmark
+    public void solve() {
+        ikSolver.solve();
+    }
+}
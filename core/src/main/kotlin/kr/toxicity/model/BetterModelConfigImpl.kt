@@ -9,8 +9,11 @@ package kr.toxicity.model
 import kr.toxicity.model.api.BetterModelConfig
 import kr.toxicity.model.api.config.DebugConfig
 import kr.toxicity.model.api.config.IndicatorConfig
+import kr.toxicity.model.api.config.LodConfig
 import kr.toxicity.model.api.config.ModuleConfig
 import kr.toxicity.model.api.config.PackConfig
+import kr.toxicity.model.api.config.SchedulerConfig
+import kr.toxicity.model.api.config.TransformThresholdConfig
 import kr.toxicity.model.api.mount.MountController
 import kr.toxicity.model.api.mount.MountControllers
 import kr.toxicity.model.api.util.EntityUtil
@@ -34,6 +37,15 @@ class BetterModelConfigImpl(yaml: ConfigurationSection) : BetterModelConfig {
     private val pack = yaml.getConfigurationSection("pack")?.let {
         PackConfig.from(it)
     } ?: PackConfig.DEFAULT
+    private val lod = yaml.getConfigurationSection("lod")?.let {
+        LodConfig.from(it)
+    } ?: LodConfig.DEFAULT
+    private val viewerLod = yaml.getConfigurationSection("viewer-lod")?.let {
+        LodConfig.from(it, LodConfig.VIEWER_DEFAULT)
+    } ?: LodConfig.VIEWER_DEFAULT
+    private val scheduler = yaml.getConfigurationSection("scheduler")?.let {
+        SchedulerConfig.from(it)
+    } ?: SchedulerConfig.DEFAULT
     private val metrics = yaml.getBoolean("metrics", true)
     private val sightTrace = yaml.getBoolean("sight-trace", true)
     private val mergeWithExternalResources = yaml.getBoolean("merge-with-external-resources", true)
@@ -69,11 +81,23 @@ class BetterModelConfigImpl(yaml: ConfigurationSection) : BetterModelConfig {
     private val playerHideDelay = yaml.getLong("player-hide-delay", 3L).coerceAtLeast(1L)
     private val packetBundlingSize = yaml.getInt("packet-bundling-size", 16)
     private val enableStrictLoading = yaml.getBoolean("enable-strict-loading")
+    private val linearBoneTransform = yaml.getBoolean("linear-bone-transform", true)
+    private val vectorBoneTransform = yaml.getBoolean("vector-bone-transform", false)
+    private val bakedTransformMemory = yaml.getInt("baked-transform-memory", 64).coerceAtLeast(0)
+    private val tintedItemCacheSize = yaml.getInt("tinted-item-cache-size", 1024).coerceAtLeast(0)
+    private val sharedPacketEncoding = yaml.getBoolean("shared-packet-encoding", false)
+    private val transformThreshold = yaml.getConfigurationSection("transform-threshold")?.let {
+        TransformThresholdConfig.from(it)
+    } ?: TransformThresholdConfig.DEFAULT
+    private val packetBackpressure = yaml.getBoolean("packet-backpressure", false)
 
     override fun debug(): DebugConfig = debug
     override fun indicator(): IndicatorConfig = indicator
     override fun module(): ModuleConfig = module
     override fun pack(): PackConfig = pack
+    override fun lod(): LodConfig = lod
+    override fun viewerLod(): LodConfig = viewerLod
+    override fun scheduler(): SchedulerConfig = scheduler
     override fun item(): Material = item
     override fun itemNamespace(): String = itemNamespace
     override fun metrics(): Boolean = metrics
@@ -94,4 +118,11 @@ class BetterModelConfigImpl(yaml: ConfigurationSection) : BetterModelConfig {
     override fun playerHideDelay(): Long = playerHideDelay
     override fun packetBundlingSize(): Int = packetBundlingSize
     override fun enableStrictLoading(): Boolean = enableStrictLoading
+    override fun linearBoneTransform(): Boolean = linearBoneTransform
+    override fun vectorBoneTransform(): Boolean = vectorBoneTransform
+    override fun bakedTransformMemory(): Int = bakedTransformMemory
+    override fun tintedItemCacheSize(): Int = tintedItemCacheSize
+    override fun sharedPacketEncoding(): Boolean = sharedPacketEncoding
+    override fun transformThreshold(): TransformThresholdConfig = transformThreshold
+    override fun packetBackpressure(): Boolean = packetBackpressure
 }
@@ -16,7 +16,9 @@ import kr.toxicity.model.api.BetterModelPlugin.ReloadResult.*
 import kr.toxicity.model.api.manager.*
 import kr.toxicity.model.api.nms.NMS
 import kr.toxicity.model.api.pack.PackZipper
+import kr.toxicity.model.api.profiler.ModelProfiler
 import kr.toxicity.model.api.scheduler.ModelScheduler
+import kr.toxicity.model.api.tracker.TrackerScheduler
 import kr.toxicity.model.api.version.MinecraftVersion
 import kr.toxicity.model.configuration.PluginConfiguration
 import kr.toxicity.model.manager.*
@@ -97,6 +99,7 @@ abstract class BetterModelPluginImpl : AbstractBetterModelPlugin() {
     override fun onDisable() {
         if (!firstLoad.get()) return
         props.managers.forEach(GlobalManager::end)
+        TrackerScheduler.INSTANCE.shutdown()
         ADVENTURE_PLATFORM?.close()
     }
 
@@ -149,6 +152,7 @@ abstract class BetterModelPluginImpl : AbstractBetterModelPlugin() {
 
     override fun logger(): BetterModelLogger = logger
     override fun scheduler(): ModelScheduler = props.scheduler
+    override fun profiler(): ModelProfiler = ModelProfiler.INSTANCE
     override fun evaluator(): BetterModelEvaluator = props.evaluator
     override fun modelManager(): ModelManager = ModelManagerImpl
     override fun playerManager(): PlayerManager = PlayerManagerImpl
@@ -126,15 +126,8 @@ fun MythicLineConfig.toBonePredicate(defaultPredicate: BonePredicate): (Placehol
     return { meta ->
         val part = partSupplier(meta)
         if (part == null) defaultPredicate else {
-            BonePredicate.of(if (children(meta)) BonePredicate.State.TRUE else BonePredicate.State.FALSE, if (match(meta)) {
-                { b ->
-                    b.name().name == part
-                }
-            } else {
-                { b ->
-                    b.name().name.contains(part, ignoreCase = true)
-                }
-            })
+            BonePredicate.name(part, if (match(meta)) BonePredicate.NameMatch.EXACT else BonePredicate.NameMatch.CONTAINS)
+                .build(if (children(meta)) BonePredicate.State.TRUE else BonePredicate.State.FALSE)
         }
     }
 }
@@ -10,11 +10,16 @@ import kr.toxicity.model.api.BetterModel
 import kr.toxicity.model.api.BetterModelPlugin.ReloadResult.*
 import kr.toxicity.model.api.animation.AnimationIterator
 import kr.toxicity.model.api.animation.AnimationModifier
+import kr.toxicity.model.api.bone.BakedTransform
+import kr.toxicity.model.api.bone.TintedItemCache
 import kr.toxicity.model.api.pack.PackZipper
+import kr.toxicity.model.api.profiler.ModelProfiler
+import kr.toxicity.model.api.profiler.ModelStatistics
 import kr.toxicity.model.api.tracker.EntityHideOption
 import kr.toxicity.model.api.tracker.ModelScaler
 import kr.toxicity.model.api.tracker.Tracker
 import kr.toxicity.model.api.tracker.TrackerModifier
+import kr.toxicity.model.api.tracker.TrackerScheduler
 import kr.toxicity.model.api.version.MinecraftVersion
 import kr.toxicity.model.command.*
 import kr.toxicity.model.util.*
@@ -133,6 +138,13 @@ object CommandManager : GlobalManager {
                     .required("entities", multipleEntitySelectorParser())
                     .handler(::show)
             }
+            create(
+                "stats",
+                "Shows tracker profiling statistics."
+            ) {
+                optional("action", enumParser(StatsAction::class.java))
+                    .handler(::stats)
+            }
             create(
                 "version",
                 "Checks BetterModel's version",
@@ -143,6 +155,60 @@ object CommandManager : GlobalManager {
         }
     }
 
+    private enum class StatsAction {
+        SHOW,
+        START,
+        STOP,
+        RESET
+    }
+
+    private const val STATS_MODEL_LIMIT = 10
+
+    private fun stats(context: CommandContext<CommandSender>) {
+        val audience = context.sender().audience()
+        val profiler = PLUGIN.profiler()
+        when (context.nullable("action", StatsAction.SHOW)) {
+            StatsAction.START -> {
+                profiler.enabled(true)
+                audience.info("Tracker profiling has been started.")
+            }
+            StatsAction.STOP -> {
+                profiler.enabled(false)
+                audience.info("Tracker profiling has been stopped.")
+            }
+            StatsAction.RESET -> {
+                profiler.reset()
+                audience.info("Tracker profiling data has been cleared.")
+            }
+            StatsAction.SHOW -> {
+                val scheduler = TrackerScheduler.INSTANCE
+                val statistics = profiler.statistics()
+                audience.info(
+                    emptyComponentOf(),
+                    "Scheduler - ${scheduler.shardCount()} shards, ${scheduler.loads().sum().withComma()} trackers".toComponent(GREEN),
+                    "Deferred: ${scheduler.deferredFrames().withComma()}, overloaded: ${scheduler.overloadedFrames().withComma()}, pinned: ${scheduler.pinnedFrames().withComma()}".toComponent(GRAY),
+                    "Baked transforms: ${(BakedTransform.usedBytes() / 1024).withComma()} KB / ${CONFIG.bakedTransformMemory().withComma()} MB".toComponent(GRAY),
+                    "Tinted items: ${TintedItemCache.size().withComma()} / ${CONFIG.tintedItemCacheSize().withComma()}".toComponent(GRAY),
+                    (if (profiler.enabled()) "Profiling for ${(profiler.elapsedNanos() / 1_000_000_000).withComma()}s" else "Profiler is disabled. (/bettermodel stats start)").toComponent(GRAY),
+                    *statistics.take(STATS_MODEL_LIMIT).map { it.toComponent() }.toTypedArray(),
+                    *(if (statistics.size > STATS_MODEL_LIMIT) arrayOf("...and ${(statistics.size - STATS_MODEL_LIMIT).withComma()} more models".toComponent(GRAY)) else emptyArray()),
+                    emptyComponentOf()
+                )
+            }
+        }
+    }
+
+    private fun ModelStatistics.toComponent() = "$name - ${latency(ModelProfiler.Phase.FRAME).p99.toMillisFormat()} p99, ${bones.withComma()} bones, ${viewers.withComma()} viewers, ${(packets / frames.coerceAtLeast(1)).withComma()} packets/frame".toComponent {
+        color(YELLOW)
+        hoverEvent(componentWithLineOf(*ModelProfiler.Phase.entries.map { phase ->
+            latency(phase).let {
+                "$phase - mean ${it.mean.toMillisFormat()}, p50 ${it.p50.toMillisFormat()}, p95 ${it.p95.toMillisFormat()}, p99 ${it.p99.toMillisFormat()}, max ${it.max.toMillisFormat()} (${it.count.withComma()})".toComponent()
+            }
+        }.toTypedArray(), "IK - ${ikSolves.withComma()} solved, ${ikSkips.withComma()} skipped, ${"%.2f".format(ikIterations.toDouble() / ikSolves.coerceAtLeast(1))} iterations/solve".toComponent()).toHoverEvent())
+    }
+
+    private fun Number.toMillisFormat() = "%.3fms".format(toDouble() / 1_000_000)
+
     private fun hide(context: CommandContext<CommandSender>) {
         val sender = context.sender()
         val model = context.get<String>("model")
@@ -7,9 +7,11 @@
 package kr.toxicity.model.manager
 
 import com.google.gson.JsonArray
+import kr.toxicity.model.api.bone.BakedTransform
 import kr.toxicity.model.api.bone.BoneItemMapper
 import kr.toxicity.model.api.bone.BoneTagRegistry
 import kr.toxicity.model.api.bone.BoneTags
+import kr.toxicity.model.api.bone.TintedItemCache
 import kr.toxicity.model.api.data.blueprint.BlueprintElement
 import kr.toxicity.model.api.data.blueprint.BlueprintJson
 import kr.toxicity.model.api.data.blueprint.ModelBlueprint
@@ -314,6 +316,8 @@ object ModelManagerImpl : ModelManager, GlobalManager {
         itemModelNamespace = NamespacedKey(CONFIG.namespace(), CONFIG.itemNamespace())
         generalModelMap.clear()
         playerModelMap.clear()
+        BakedTransform.reset()
+        TintedItemCache.reset()
         loadModels(pipeline, zipper)
     }
 
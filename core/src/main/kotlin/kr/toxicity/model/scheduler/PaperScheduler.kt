@@ -7,11 +7,14 @@
 package kr.toxicity.model.scheduler
 
 import io.papermc.paper.threadedregions.scheduler.ScheduledTask
+import kr.toxicity.model.api.entity.BaseBukkitEntity
+import kr.toxicity.model.api.entity.BaseEntity
 import kr.toxicity.model.api.scheduler.ModelScheduler
 import kr.toxicity.model.api.scheduler.ModelTask
 import kr.toxicity.model.util.PLUGIN
 import org.bukkit.Bukkit
 import org.bukkit.Location
+import org.bukkit.entity.Entity
 import java.util.concurrent.TimeUnit
 
 class PaperScheduler : ModelScheduler {
@@ -39,6 +42,24 @@ class PaperScheduler : ModelScheduler {
         }, delay).wrap()
     }
 
+    override fun taskTimer(location: Location, delay: Long, period: Long, runnable: Runnable): ModelTask? = ifEnabled {
+        Bukkit.getRegionScheduler().runAtFixedRate(PLUGIN, location, {
+            runnable.run()
+        }, delay.coerceAtLeast(1), period.coerceAtLeast(1)).wrap()
+    }
+
+    override fun taskTimer(entity: Entity, delay: Long, period: Long, runnable: Runnable): ModelTask? = ifEnabled {
+        entity.scheduler.runAtFixedRate(PLUGIN, {
+            runnable.run()
+        }, null, delay.coerceAtLeast(1), period.coerceAtLeast(1))?.wrap()
+    }
+
+    override fun isOwnedByCurrentThread(location: Location): Boolean = Bukkit.isOwnedByCurrentRegion(location)
+
+    override fun isOwnedByCurrentThread(entity: BaseEntity): Boolean = if (entity is BaseBukkitEntity) {
+        Bukkit.isOwnedByCurrentRegion(entity.entity())
+    } else Bukkit.isOwnedByCurrentRegion(entity.location())
+
     override fun asyncTask(runnable: Runnable) = Bukkit.getAsyncScheduler().runNow(PLUGIN) {
         runnable.run()
     }.wrap()
@@ -14,14 +14,7 @@ val ScriptBuilder.ScriptMetaData.bonePredicate get(): BonePredicate {
     val children = asBoolean("children") == true
     val part = asString("part")?.boneName?.name
     return if (part == null) BonePredicate.TRUE else {
-        BonePredicate.of(if (children) BonePredicate.State.TRUE else BonePredicate.State.FALSE, if (match) {
-            { b ->
-                b.name().name == part
-            }
-        } else {
-            { b ->
-                b.name().name.contains(part, ignoreCase = true)
-            }
-        })
+        BonePredicate.name(part, if (match) BonePredicate.NameMatch.EXACT else BonePredicate.NameMatch.CONTAINS)
+            .build(if (children) BonePredicate.State.TRUE else BonePredicate.State.FALSE)
     }
 }
\ No newline at end of file
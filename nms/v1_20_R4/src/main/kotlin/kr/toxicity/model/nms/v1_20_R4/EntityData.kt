@@ -6,6 +6,7 @@
  */
 package kr.toxicity.model.nms.v1_20_R4
 
+import kr.toxicity.model.api.config.TransformThresholdConfig
 import kr.toxicity.model.api.util.MathUtil
 import net.minecraft.network.syncher.EntityDataAccessor
 import net.minecraft.network.syncher.SynchedEntityData
@@ -57,7 +58,7 @@ internal val DISPLAY_ROTATION = DISPLAY_SET[5] as EntityDataAccessor<Quaternionf
 internal class TransformationData {
 
     private var _duration = 0
-    private val duration get() = SynchedEntityData.DataValue(DISPLAY_INTERPOLATION_DURATION.id, DISPLAY_INTERPOLATION_DURATION.serializer, _duration)
+    private val duration get() = durationValue(_duration)
     private val translation = Item(Vector3f(), DISPLAY_TRANSLATION, MathUtil::isSimilar, Vector3f::set)
     private val scale = Item(Vector3f(), DISPLAY_SCALE, MathUtil::isSimilar, Vector3f::set)
     private val rotation = Item(Quaternionf(), DISPLAY_ROTATION, MathUtil::isSimilar, Quaternionf::set)
@@ -78,26 +79,30 @@ internal class TransformationData {
         duration: Int,
         translation: Vector3f,
         scale: Vector3f,
-        rotation: Quaternionf
+        rotation: Quaternionf,
+        threshold: TransformThresholdConfig.Threshold,
+        force: Boolean
     ) {
         _duration = duration
-        this.translation.set(translation)
-        this.scale.set(scale)
-        this.rotation.set(rotation)
+        this.translation.set(translation, if (force) MathUtil.FLOAT_COMPARISON_EPSILON else threshold.position)
+        this.scale.set(scale, if (force) MathUtil.FLOAT_COMPARISON_EPSILON else threshold.scale)
+        this.rotation.set(rotation, if (force) MathUtil.FLOAT_COMPARISON_EPSILON else threshold.rotation)
     }
 
-    fun pack() = listOf(
+    fun pack(duration: Int = _duration) = listOf(
         DISPLAY_INTERPOLATION_DELAY,
-        duration,
+        durationValue(duration),
         translation.forceValue,
         scale.forceValue,
         rotation.forceValue
     )
 
+    private fun durationValue(duration: Int) = SynchedEntityData.DataValue(DISPLAY_INTERPOLATION_DURATION.id, DISPLAY_INTERPOLATION_DURATION.serializer, duration)
+
     private class Item<T : Any>(
         initialValue: T,
         private val accessor: EntityDataAccessor<T>,
-        private val dirtyChecker: (T, T) -> Boolean,
+        private val dirtyChecker: (T, T, Float) -> Boolean,
         private val setter: (T, T) -> Unit
     ) {
         private val _t: T = initialValue
@@ -111,8 +116,9 @@ internal class TransformationData {
         } else null
         val forceValue get() = SynchedEntityData.DataValue(accessor.id, accessor.serializer, _t)
 
-        fun set(other: T) {
-            if (dirtyChecker(_t, other)) return
+        //Compared with the last sent value, so ignored changes never drift beyond the epsilon
+        fun set(other: T, epsilon: Float) {
+            if (dirtyChecker(_t, other, epsilon)) return
             _dirty = true
             setter(_t, other)
         }
@@ -6,18 +6,34 @@
  */
 package kr.toxicity.model.nms.v1_20_R4
 
+import io.netty.buffer.ByteBuf
+import io.netty.channel.Channel
+import io.netty.channel.ChannelHandlerContext
+import io.netty.channel.ChannelPromise
+import io.netty.util.ReferenceCounted
 import kr.toxicity.library.sharedpackets.PluginBundlePacket
 import kr.toxicity.model.api.nms.PacketBundler
 import net.kyori.adventure.key.Key
+import net.minecraft.network.Connection
+import net.minecraft.network.ConnectionProtocol
+import net.minecraft.network.PacketEncoder
 import net.minecraft.network.PacketSendListener
+import net.minecraft.network.ProtocolInfo
 import net.minecraft.network.protocol.Packet
+import net.minecraft.network.protocol.game.ClientGamePacketListener
+import net.minecraft.network.protocol.game.ClientboundBundleDelimiterPacket
 import net.minecraft.network.protocol.game.ClientboundBundlePacket
 import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket
 import net.minecraft.network.protocol.game.ClientboundSetEquipmentPacket
+import net.minecraft.server.network.ServerCommonPacketListenerImpl
 import org.bukkit.craftbukkit.entity.CraftPlayer
 import org.bukkit.entity.Player
+import java.util.concurrent.atomic.AtomicBoolean
 
 private val KEY = Key.key("bettermodel")
+private val BUNDLE_DELIMITER = ClientboundBundleDelimiterPacket()
+private val getConnection: (ServerCommonPacketListenerImpl) -> Connection = createAdaptedFieldGetter { it.connection }
+private val getProtocolInfo: (PacketEncoder<*>) -> ProtocolInfo<*> = createAdaptedFieldGetter()
 
 internal fun bundlerOfNotNull(vararg packets: ClientPacket?) = SimpleBundler(if (packets.isEmpty()) arrayListOf() else packets.filterNotNull().toMutableList())
 internal fun bundlerOf(vararg packets: ClientPacket) = SimpleBundler(if (packets.isEmpty()) arrayListOf() else packets.toMutableList())
@@ -39,6 +55,111 @@ internal fun Packet<*>.assumeSize() = when (this) {
     else -> 1
 }
 
+private val Channel.playProtocol get() = pipeline().get(PacketEncoder::class.java)?.let(getProtocolInfo)?.takeIf {
+    it.id() == ConnectionProtocol.PLAY
+}
+
+/**
+ * Encodes bundles only once and sends the encoded frames to every player in the play protocol.
+ * The frames are sent through each player's connection as a [SharedFramesPacket], so they keep their order
+ * with other packets and pass Paper's packet queue. The player channel handler writes them past the packet encoder,
+ * so the frame length, compression and encryption are still applied per connection.
+ * Players in another protocol or with an unwritable channel are sent normally, so their packets can be coalesced.
+ */
+private fun Collection<Player>.broadcast(bundles: List<PluginBundlePacketImpl>, send: (Player) -> Unit) {
+    if (size < 2 || !CONFIG.sharedPacketEncoding()) return forEach(send)
+    val connections = ArrayList<ServerCommonPacketListenerImpl>(size)
+    var channel: Channel? = null
+    var protocol: ProtocolInfo<*>? = null
+    forEach {
+        val connection = (it as CraftPlayer).handle.connection
+        val playerConnection = getConnection(connection)
+        val playerChannel = playerConnection.channel
+        val playProtocol = playerChannel.playProtocol
+        //A closing connection queues packets which are never written, so it only gets plain packets.
+        if (playProtocol == null || !playerChannel.isWritable || !playerConnection.isConnected) send(it) else {
+            if (protocol == null) {
+                protocol = playProtocol
+                channel = playerChannel
+            }
+            connections += connection
+        }
+    }
+    @Suppress("UNCHECKED_CAST")
+    val codec = (protocol as? ProtocolInfo<ClientGamePacketListener> ?: return).codec()
+    val frames = ArrayList<ByteBuf>()
+    try {
+        val alloc = channel!!.alloc()
+        fun encode(packet: Packet<in ClientGamePacketListener>) {
+            val buf = alloc.buffer()
+            frames += buf
+            codec.encode(buf, packet)
+        }
+        bundles.forEach { bundle ->
+            if (bundle.isEmpty()) return@forEach
+            encode(BUNDLE_DELIMITER)
+            bundle.forEach(::encode)
+            encode(BUNDLE_DELIMITER)
+        }
+        connections.forEach { connection ->
+            val packet = SharedFramesPacket(frames.map(ByteBuf::retainedDuplicate))
+            try {
+                connection.send(packet, PacketSendListener.exceptionallySend {
+                    packet.release()
+                    null
+                })
+            } catch (e: Throwable) {
+                packet.release()
+                throw e
+            }
+        }
+    } finally {
+        frames.forEach(ByteBuf::release)
+    }
+}
+
+/**
+ * Carries the encoded frames of a broadcast to one connection.
+ * It is an empty bundle to every other handler, and releases its frames if it is dropped before being written.
+ */
+internal class SharedFramesPacket(
+    private val frames: List<ByteBuf>
+) : ClientboundBundlePacket(emptyList()), ReferenceCounted {
+    private val released = AtomicBoolean()
+
+    /**
+     * Writes the frames to the next outbound handler, which passes the packet encoder.
+     * @param ctx context of the handler placed before the packet encoder
+     * @param promise promise of this packet
+     */
+    fun write(ctx: ChannelHandlerContext, promise: ChannelPromise) {
+        if (!released.compareAndSet(false, true)) {
+            promise.trySuccess()
+            return
+        }
+        if (frames.isEmpty()) {
+            promise.trySuccess()
+            return
+        }
+        val last = frames.lastIndex
+        frames.forEachIndexed { index, frame ->
+            if (index == last) ctx.write(frame, promise) else ctx.write(frame)
+        }
+    }
+
+    override fun refCnt(): Int = if (released.get()) 0 else 1
+    override fun retain(): ReferenceCounted = this
+    override fun retain(increment: Int): ReferenceCounted = this
+    override fun touch(): ReferenceCounted = this
+    override fun touch(hint: Any?): ReferenceCounted = this
+    override fun release(): Boolean {
+        if (!released.compareAndSet(false, true)) return false
+        frames.forEach(ByteBuf::release)
+        return true
+    }
+    override fun release(decrement: Int): Boolean = release()
+}
+
 internal interface PluginBundlePacketImpl : PluginBundlePacket<ClientPacket> {
     val bundlePacket: ClientboundBundlePacket
     fun size(): Int
@@ -55,6 +176,10 @@ internal class SimpleBundler(
         val connection = (player as CraftPlayer).handle.connection
         connection.send(bundlePacket, PacketSendListener.thenRun(onSuccess))
     }
+    override fun send(players: Collection<Player>) {
+        if (isEmpty) return
+        players.broadcast(listOf(this), ::send)
+    }
     override fun isEmpty(): Boolean = list.isEmpty()
     override fun size(): Int = list.size
     override fun key(): Key = KEY
@@ -79,6 +204,10 @@ internal class LazyBundler : PacketBundler, PluginBundlePacketImpl {
         val connection = (player as CraftPlayer).handle.connection
         connection.send(bundlePacket, PacketSendListener.thenRun(onSuccess))
     }
+    override fun send(players: Collection<Player>) {
+        if (isEmpty) return
+        players.broadcast(listOf(this), ::send)
+    }
     override fun isEmpty(): Boolean = size() == 0
     override fun size(): Int = index
     override fun key(): Key = KEY
@@ -115,6 +244,10 @@ internal class ParallelBundler(
             connection.send(it.bundlePacket)
         }
     }
+    override fun send(players: Collection<Player>) {
+        if (isEmpty) return
+        players.broadcast(subBundlers, ::send)
+    }
     override fun isEmpty(): Boolean = selectedBundler.isEmpty()
     override fun size(): Int = subBundlers.sumOf(PluginBundlePacketImpl::size)
     fun add(other: ClientPacket) {
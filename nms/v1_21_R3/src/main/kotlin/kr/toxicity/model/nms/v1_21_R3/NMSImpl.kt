@@ -24,6 +24,7 @@ import kr.toxicity.model.api.player.PlayerSkinParts
 import kr.toxicity.model.api.profile.ModelProfile
 import kr.toxicity.model.api.tracker.EntityTrackerRegistry
 import kr.toxicity.model.api.tracker.TrackerUpdateAction
+import kr.toxicity.model.api.util.ClassFilter
 import kr.toxicity.model.api.util.TransformedItemStack
 import net.kyori.adventure.key.Keyed
 import net.minecraft.core.NonNullList
@@ -65,6 +66,24 @@ class NMSImpl : NMS {
     companion object {
         private const val INJECT_NAME = "bettermodel_channel_handler"
 
+        //Packets handled by the channel handler, the others pass through
+        private val INTERCEPTED_OUTBOUND = ClassFilter.of(
+            ClientboundBundlePacket::class.java,
+            ClientboundAddEntityPacket::class.java,
+            ClientboundRemoveEntitiesPacket::class.java,
+            ClientboundSetPassengersPacket::class.java,
+            ClientboundUpdateAttributesPacket::class.java,
+            ClientboundSetEntityDataPacket::class.java,
+            ClientboundSetEquipmentPacket::class.java,
+            ClientboundRespawnPacket::class.java,
+            ClientboundContainerSetSlotPacket::class.java,
+            ClientboundContainerSetContentPacket::class.java
+        )
+        private val INTERCEPTED_INBOUND = ClassFilter.of(
+            ServerboundSetCarriedItemPacket::class.java,
+            ServerboundPlayerActionPacket::class.java
+        )
+
         //Spigot
         private val getGameProfile: (net.minecraft.world.entity.player.Player) -> GameProfile = createAdaptedFieldGetter { it.gameProfile }
         private val getConnection: (ServerCommonPacketListenerImpl) -> Connection = createAdaptedFieldGetter { it.connection }
@@ -133,6 +152,7 @@ class NMSImpl : NMS {
         private val connection = player.handle.connection
         private val uuid = player.uniqueId
         private val base = adapt(player)
+        private val coalescer = TransformationCoalescer()
 
         init {
             val pipeline = getConnection(connection).channel.pipeline()
@@ -241,10 +261,30 @@ class NMSImpl : NMS {
         }
 
         override fun write(ctx: ChannelHandlerContext, msg: Any, promise: ChannelPromise) {
-            super.write(ctx, if (msg is Packet<*>) msg.handle() ?: return else msg, promise)
+            if (msg is SharedFramesPacket) {
+                coalescer.drain()?.let(ctx::write)
+                return msg.write(ctx, promise)
+            }
+            if (coalescer.isEmpty() && !INTERCEPTED_OUTBOUND.test(msg)) return super.write(ctx, msg, promise)
+            val packet = if (msg is Packet<*>) msg.handle() ?: return else msg
+            if (packet is Packet<*> && CONFIG.packetBackpressure()) {
+                val writable = ctx.channel().isWritable
+                if (!writable && coalescer.coalesce(packet)) {
+                    promise.trySuccess()
+                    return
+                }
+                if (!coalescer.isEmpty() && (writable || coalescer.isOrdered(packet))) coalescer.drain()?.let(ctx::write)
+            }
+            super.write(ctx, packet, promise)
+        }
+
+        override fun channelWritabilityChanged(ctx: ChannelHandlerContext) {
+            if (ctx.channel().isWritable) coalescer.drain()?.let(ctx::writeAndFlush)
+            super.channelWritabilityChanged(ctx)
         }
 
         override fun channelRead(ctx: ChannelHandlerContext, msg: Any) {
+            if (!INTERCEPTED_INBOUND.test(msg)) return super.channelRead(ctx, msg)
             fun EntityTrackerRegistry.updatePlayerLimb() = BetterModel.plugin().scheduler().asyncTaskLater(1) {
                 if (isClosed) return@asyncTaskLater
                 player.handle.containerMenu.sendAllDataToRemote()
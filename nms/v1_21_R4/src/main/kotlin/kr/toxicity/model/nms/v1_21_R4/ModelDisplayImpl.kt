@@ -6,6 +6,7 @@
  */
 package kr.toxicity.model.nms.v1_21_R4
 
+import kr.toxicity.model.api.config.TransformThresholdConfig
 import kr.toxicity.model.api.entity.BaseEntity
 import kr.toxicity.model.api.nms.DisplayTransformer
 import kr.toxicity.model.api.nms.ModelDisplay
@@ -236,13 +237,25 @@ internal class ModelDisplayImpl(
             scale: Vector3f,
             rotation: Quaternionf,
             bundler: PacketBundler
+        ) = transform(duration, position, scale, rotation, TransformThresholdConfig.Threshold.EXACT, false, bundler)
+
+        override fun transform(
+            duration: Int,
+            position: Vector3f,
+            scale: Vector3f,
+            rotation: Quaternionf,
+            threshold: TransformThresholdConfig.Threshold,
+            force: Boolean,
+            bundler: PacketBundler
         ) {
             entityDataLock.accessToLock {
                 entityData.transform(
                     duration,
                     position,
                     scale,
-                    rotation
+                    rotation,
+                    threshold,
+                    force
                 )
                 entityData.packDirty()
             }?.run {
@@ -257,5 +270,13 @@ internal class ModelDisplayImpl(
                 bundler += ClientboundSetEntityDataPacket(id, this)
             }
         }
+
+        override fun sendTransformation(duration: Int, bundler: PacketBundler) {
+            entityDataLock.accessToLock {
+                entityData.pack(duration)
+            }?.run {
+                bundler += ClientboundSetEntityDataPacket(id, this)
+            }
+        }
     }
 }
\ No newline at end of file
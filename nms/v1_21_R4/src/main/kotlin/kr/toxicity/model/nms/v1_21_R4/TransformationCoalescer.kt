@@ -0,0 +1,79 @@
+/**
+ * This source file is part of BetterModel.
+ * Copyright (c) 2024–2026 toxicity188
+ * Licensed under the MIT License.
+ * See LICENSE.md file for full license text.
+ */
+package kr.toxicity.model.nms.v1_21_R4
+
+import net.kyori.adventure.key.Keyed
+import net.minecraft.network.protocol.Packet
+import net.minecraft.network.protocol.game.ClientboundAddEntityPacket
+import net.minecraft.network.protocol.game.ClientboundBundlePacket
+import net.minecraft.network.protocol.game.ClientboundRemoveEntitiesPacket
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket
+import net.minecraft.network.syncher.SynchedEntityData
+
+private val TRANSFORMATION_DATA = listOf(
+    DISPLAY_SET.first().id,
+    DISPLAY_INTERPOLATION_DURATION.id,
+    DISPLAY_TRANSLATION.id,
+    DISPLAY_SCALE.id,
+    DISPLAY_ROTATION.id
+).toIntSet()
+
+/**
+ * Keeps display transformations written while a channel is not writable.
+ * Only the latest value of each entity data is kept per entity id, so a slow connection never buffers stale transformations.
+ * Every method must be called in the event loop of the channel.
+ */
+internal class TransformationCoalescer {
+    private val pending = LinkedHashMap<Int, MutableMap<Int, SynchedEntityData.DataValue<*>>>()
+
+    fun isEmpty() = pending.isEmpty()
+
+    /**
+     * Coalesces this packet if it is a plugin bundle which only has display transformations.
+     * @return whether this packet is coalesced
+     */
+    fun coalesce(packet: Packet<*>): Boolean {
+        if (packet !is ClientboundBundlePacket) return false
+        val subPackets = packet.subPackets()
+        if (subPackets !is Keyed || !subPackets.all { it.isTransformation() }) return false
+        subPackets.forEach {
+            it as ClientboundSetEntityDataPacket
+            val values = pending.getOrPut(it.id) { LinkedHashMap() }
+            it.packedItems.forEach { value ->
+                values[value.id] = value
+            }
+        }
+        return true
+    }
+
+    /**
+     * Checks whether coalesced transformations must be written before this packet.
+     * Plugin bundles and entity spawn or remove packets must keep their order with the transformations.
+     */
+    fun isOrdered(packet: Packet<*>): Boolean = when (packet) {
+        is ClientboundBundlePacket -> packet.subPackets() is Keyed || packet.subPackets().any(::isOrdered)
+        is ClientboundAddEntityPacket, is ClientboundRemoveEntitiesPacket -> true
+        else -> false
+    }
+
+    /**
+     * Drains coalesced transformations.
+     * @return bundle of the latest transformations, or null if empty
+     */
+    fun drain(): ClientboundBundlePacket? {
+        if (pending.isEmpty()) return null
+        val packets = pending.map { (id, values) ->
+            ClientboundSetEntityDataPacket(id, values.values.toList())
+        }
+        pending.clear()
+        return ClientboundBundlePacket(packets)
+    }
+
+    private fun Packet<*>.isTransformation() = this is ClientboundSetEntityDataPacket && packedItems.all {
+        it.id in TRANSFORMATION_DATA
+    }
+}
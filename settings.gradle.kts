@@ -18,5 +18,6 @@ include(
     "nms:v1_21_R5",
     "nms:v1_21_R6",
     "nms:v1_21_R7",
-    "test-plugin"
+    "test-plugin",
+    "benchmark"
 )